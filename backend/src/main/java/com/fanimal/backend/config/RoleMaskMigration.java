@@ -0,0 +1,72 @@
+package com.fanimal.backend.config;
+
+import com.fanimal.backend.model.Role;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Backfills users.role_mask from the old roles/user_roles join tables while the context starts, so before
+// Tomcat serves traffic. The join tables are kept; a later release drops them once the backfill is confirmed.
+@Component
+@DependsOn("entityManagerFactory")
+public class RoleMaskMigration implements InitializingBean {
+
+    static final String MIGRATION = "role_mask_backfill";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public RoleMaskMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        migrate();
+    }
+
+    public void migrate() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                "name VARCHAR(100) PRIMARY KEY, applied_at TIMESTAMP NOT NULL)");
+        if (isApplied() || !tableExists("user_roles") || !tableExists("roles")) return;
+        String bits = Arrays.stream(Role.values())
+                .map(role -> "WHEN '" + role.name() + "' THEN " + role.bit())
+                .collect(Collectors.joining(" "));
+        try {
+            Integer migrated = transactionTemplate.execute(status -> {
+                // Claim the marker first: a replica booting at the same time blocks on the key, then fails and skips
+                jdbcTemplate.update("INSERT INTO schema_migrations (name, applied_at) VALUES (?, CURRENT_TIMESTAMP)", MIGRATION);
+                // user_roles has one row per (user, role), so summing the bits is the same as OR-ing them
+                return jdbcTemplate.update(
+                        "UPDATE users SET role_mask = (" +
+                                "SELECT COALESCE(SUM(CASE r.name " + bits + " ELSE 0 END), 0) " +
+                                "FROM user_roles ur JOIN roles r ON r.id = ur.role_id " +
+                                "WHERE ur.user_id = users.id) " +
+                                "WHERE role_mask = 0");
+            });
+            System.out.println("Migrated roles for " + migrated + " users to role_mask");
+        } catch (DuplicateKeyException e) {
+            System.out.println("Role mask backfill already applied by another node");
+        }
+    }
+
+    private boolean isApplied() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM schema_migrations WHERE name = ?", Integer.class, MIGRATION);
+        return count != null && count > 0;
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = ?", Integer.class, table);
+        return count != null && count > 0;
+    }
+}
@@ -1,10 +1,13 @@
 package com.fanimal.backend.controller;
 
+import com.fanimal.backend.dto.user.AvailabilityResponse;
 import com.fanimal.backend.dto.user.JwtResponse;
 import com.fanimal.backend.dto.user.LoginRequest;
+import com.fanimal.backend.dto.user.RefreshTokenRequest;
 import com.fanimal.backend.dto.user.RegisterRequest;
 import com.fanimal.backend.dto.user.UserResponse;
 import com.fanimal.backend.service.AuthService;
+import com.fanimal.backend.service.UserVersionCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -12,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final UserVersionCache userVersionCache;
 
     @PostMapping("/register")
     public ResponseEntity<JwtResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
@@ -32,17 +37,33 @@ public class AuthController {
         return ResponseEntity.ok(jwtResponse);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        JwtResponse jwtResponse = authService.refresh(refreshTokenRequest.getRefreshToken());
+        return ResponseEntity.ok(jwtResponse);
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> availability(@RequestParam(required = false) String username,
+                                                             @RequestParam(required = false) String email) {
+        AvailabilityResponse availabilityResponse = authService.checkAvailability(username, email);
+        return ResponseEntity.ok(availabilityResponse);
+    }
+
     @GetMapping("/verify")
-    public ResponseEntity<UserResponse> verify(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<UserResponse> verify(@AuthenticationPrincipal UserDetails userDetails, WebRequest webRequest) {
         if (userDetails == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        UserResponse userResponse = authService.verify(userDetails.getUsername());
-        return ResponseEntity.ok(userResponse);
+        return userVersionCache.conditionalGet(userDetails.getUsername(), webRequest, () -> authService.verify(userDetails.getUsername()));
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        String refreshToken = refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null;
+        authService.logout(accessToken, refreshToken);
         return ResponseEntity.ok().build();
     }
 }
@@ -1,18 +1,35 @@
 package com.fanimal.backend.controller;
 
+import com.fanimal.backend.dto.shelter.NearbyShelterResponse;
+import com.fanimal.backend.dto.shelter.ShelterImportResponse;
+import com.fanimal.backend.dto.shelter.ShelterLookupRequest;
+import com.fanimal.backend.dto.shelter.ShelterLookupResponse;
+import com.fanimal.backend.dto.shelter.ShelterPageResponse;
 import com.fanimal.backend.dto.shelter.ShelterRequest;
 import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.dto.shelter.ShelterRevenueResponse;
+import com.fanimal.backend.dto.shelter.ShelterSuggestionResponse;
+import com.fanimal.backend.dto.shelter.ShelterSupportResponse;
 import com.fanimal.backend.dto.shelter.ShelterUpdateRequest;
+import com.fanimal.backend.service.ShelterCatalogSnapshot;
+import com.fanimal.backend.service.ShelterImportService;
 import com.fanimal.backend.service.ShelterService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -21,6 +38,8 @@ import java.util.List;
 public class ShelterController {
 
     private final ShelterService shelterService;
+    private final ShelterCatalogSnapshot shelterCatalogSnapshot;
+    private final ShelterImportService shelterImportService;
 
     @PreAuthorize("hasAnyRole('ADMIN', 'SHELTER')")
     @PostMapping
@@ -31,10 +50,68 @@ public class ShelterController {
                 .body(shelterResponse);
     }
 
+    // Body is streamed straight from the request, so large imports are never buffered whole
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ShelterImportResponse> importShelters(HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        ShelterImportResponse shelterImportResponse = shelterImportService.importShelters(request.getInputStream(), request.getContentType(), userDetails);
+        return ResponseEntity.ok().body(shelterImportResponse);
+    }
+
     @GetMapping
-    public ResponseEntity<List<ShelterResponse>> findAll() {
-        List<ShelterResponse> shelterResponses = shelterService.findAll();
-        return ResponseEntity.ok().body(shelterResponses);
+    public ResponseEntity<?> findPage(@RequestParam(defaultValue = ShelterService.SORT_BY_NAME) String sort,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "" + ShelterService.DEFAULT_PAGE_SIZE) int size,
+                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                      WebRequest webRequest) {
+        if (cursor == null && size == ShelterService.DEFAULT_PAGE_SIZE && ShelterService.SORT_BY_NAME.equals(sort)) {
+            return catalogSnapshot(acceptEncoding, webRequest);
+        }
+        ShelterPageResponse shelterPageResponse = shelterService.findPage(sort, cursor, size);
+        return withNextLink(shelterPageResponse);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ShelterLookupResponse>> findAllById(@RequestParam List<Long> ids) {
+        List<ShelterLookupResponse> shelterLookupResponses = shelterService.findAllById(ids);
+        return ResponseEntity.ok().body(shelterLookupResponses);
+    }
+
+    // Same as ?ids= for lists too long for a query string
+    @PostMapping("/lookup")
+    public ResponseEntity<List<ShelterLookupResponse>> lookup(@Valid @RequestBody ShelterLookupRequest shelterLookupRequest) {
+        List<ShelterLookupResponse> shelterLookupResponses = shelterService.findAllById(shelterLookupRequest.getIds());
+        return ResponseEntity.ok().body(shelterLookupResponses);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ShelterPageResponse> search(@RequestParam String q,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "" + ShelterService.DEFAULT_PAGE_SIZE) int size) {
+        ShelterPageResponse shelterPageResponse = shelterService.search(q, cursor, size);
+        return withNextLink(shelterPageResponse);
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyShelterResponse>> findNearby(@RequestParam double lat,
+                                                                  @RequestParam double lon,
+                                                                  @RequestParam(defaultValue = "" + ShelterService.DEFAULT_RADIUS_KM) double radiusKm,
+                                                                  @RequestParam(defaultValue = "" + ShelterService.DEFAULT_NEARBY_LIMIT) int limit) {
+        List<NearbyShelterResponse> nearbyShelterResponses = shelterService.findNearby(lat, lon, radiusKm, limit);
+        return ResponseEntity.ok().body(nearbyShelterResponses);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ShelterSuggestionResponse>> suggest(@RequestParam String prefix,
+                                                                   @RequestParam(defaultValue = "" + ShelterService.DEFAULT_SUGGEST_LIMIT) int limit) {
+        List<ShelterSuggestionResponse> shelterSuggestionResponses = shelterService.suggest(prefix, limit);
+        return ResponseEntity.ok().body(shelterSuggestionResponses);
+    }
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<ShelterSupportResponse>> findLeaderboard(@RequestParam(defaultValue = "" + ShelterService.DEFAULT_LEADERBOARD_SIZE) int limit) {
+        List<ShelterSupportResponse> shelterSupportResponses = shelterService.findLeaderboard(limit);
+        return ResponseEntity.ok().body(shelterSupportResponses);
     }
 
     @GetMapping("/{id}")
@@ -43,6 +120,19 @@ public class ShelterController {
         return ResponseEntity.ok().body(shelterResponse);
     }
 
+    @GetMapping("/{id}/support")
+    public ResponseEntity<ShelterSupportResponse> findSupport(@PathVariable Long id) {
+        ShelterSupportResponse shelterSupportResponse = shelterService.findSupport(id);
+        return ResponseEntity.ok().body(shelterSupportResponse);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'SHELTER')")
+    @GetMapping("/{id}/revenue")
+    public ResponseEntity<ShelterRevenueResponse> findRevenue(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+        ShelterRevenueResponse shelterRevenueResponse = shelterService.findRevenue(id, userDetails);
+        return ResponseEntity.ok().body(shelterRevenueResponse);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'SHELTER')")
     @PutMapping("/{id}")
     public ResponseEntity<ShelterResponse> update(@PathVariable Long id, @Valid @RequestBody ShelterUpdateRequest shelterUpdateRequest, @AuthenticationPrincipal UserDetails userDetails) {
@@ -56,4 +146,41 @@ public class ShelterController {
         shelterService.delete(id, userDetails);
         return ResponseEntity.noContent().build();
     }
+
+    // The default first page is served as pre-built bytes, so Jackson and gzip don't run per request
+    private ResponseEntity<byte[]> catalogSnapshot(String acceptEncoding, WebRequest webRequest) {
+        ShelterCatalogSnapshot.Snapshot snapshot = shelterCatalogSnapshot.get();
+        boolean gzip = ShelterCatalogSnapshot.acceptsGzip(acceptEncoding);
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.nextCursor() != null) {
+            response.header(HttpHeaders.LINK, nextLink(snapshot.nextCursor()));
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? snapshot.gzip() : snapshot.json());
+    }
+
+    private ResponseEntity<ShelterPageResponse> withNextLink(ShelterPageResponse shelterPageResponse) {
+        if (shelterPageResponse.getNextCursor() == null) {
+            return ResponseEntity.ok().body(shelterPageResponse);
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, nextLink(shelterPageResponse.getNextCursor()))
+                .body(shelterPageResponse);
+    }
+
+    private static String nextLink(String cursor) {
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", cursor)
+                .toUriString();
+        return "<" + next + ">; rel=\"next\"";
+    }
 }
\ No newline at end of file
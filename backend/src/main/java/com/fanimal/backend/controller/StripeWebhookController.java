@@ -2,6 +2,7 @@ package com.fanimal.backend.controller;
 
 import com.fanimal.backend.model.Subscription;
 import com.fanimal.backend.repository.SubscriptionRepository;
+import com.fanimal.backend.service.ShelterSupportCounters;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
@@ -23,6 +24,7 @@ import java.util.Optional;
 public class StripeWebhookController {
 
     private final SubscriptionRepository subscriptionRepository;
+    private final ShelterSupportCounters shelterSupportCounters;
     @Value("${stripe.webhook.secret}")
     private String webhookSecret;
 
@@ -63,12 +65,14 @@ public class StripeWebhookController {
         if (stripeSubscriptionId == null) return;
         subscriptionRepository.findByStripeSubscriptionId(stripeSubscriptionId)
                 .ifPresent(sub -> {
+                    Subscription.Tier previousTier = sub.getTier();
+                    Subscription.SubscriptionStatus previousStatus = sub.getStatus();
                     try {
                         com.stripe.model.Subscription stripeSub = com.stripe.model.Subscription.retrieve(stripeSubscriptionId);
                         sub.setStatus(Subscription.SubscriptionStatus.valueOf(stripeSub.getStatus().toUpperCase()));
                         sub.setStartDate(Instant.ofEpochSecond(stripeSub.getCurrentPeriodStart()).atZone(ZoneId.systemDefault()).toLocalDate());
                         sub.setEndDate(Instant.ofEpochSecond(stripeSub.getCurrentPeriodEnd()).atZone(ZoneId.systemDefault()).toLocalDate());
-                        subscriptionRepository.save(sub);
+                        save(sub, previousTier, previousStatus);
                     } catch (StripeException e) {
                         // Handle exception
                     }
@@ -83,8 +87,10 @@ public class StripeWebhookController {
         if (stripeSubscriptionId == null) return;
         subscriptionRepository.findByStripeSubscriptionId(stripeSubscriptionId)
                 .ifPresent(sub -> {
+                    Subscription.Tier previousTier = sub.getTier();
+                    Subscription.SubscriptionStatus previousStatus = sub.getStatus();
                     sub.setStatus(Subscription.SubscriptionStatus.PAST_DUE);
-                    subscriptionRepository.save(sub);
+                    save(sub, previousTier, previousStatus);
                 });
     }
 
@@ -94,8 +100,10 @@ public class StripeWebhookController {
         if (stripeSub == null) return;
         subscriptionRepository.findByStripeSubscriptionId(stripeSub.getId())
                 .ifPresent(sub -> {
+                    Subscription.Tier previousTier = sub.getTier();
+                    Subscription.SubscriptionStatus previousStatus = sub.getStatus();
                     sub.setStatus(Subscription.SubscriptionStatus.CANCELED);
-                    subscriptionRepository.save(sub);
+                    save(sub, previousTier, previousStatus);
                 });
     }
 
@@ -105,6 +113,8 @@ public class StripeWebhookController {
         if (stripeSub == null) return;
         subscriptionRepository.findByStripeSubscriptionId(stripeSub.getId())
                 .ifPresent(sub -> {
+                    Subscription.Tier previousTier = sub.getTier();
+                    Subscription.SubscriptionStatus previousStatus = sub.getStatus();
                     sub.setStatus(Subscription.SubscriptionStatus.valueOf(stripeSub.getStatus().toUpperCase()));
                     sub.setStartDate(Instant.ofEpochSecond(stripeSub.getCurrentPeriodStart()).atZone(ZoneId.systemDefault()).toLocalDate());
                     sub.setEndDate(Instant.ofEpochSecond(stripeSub.getCurrentPeriodEnd()).atZone(ZoneId.systemDefault()).toLocalDate());
@@ -118,7 +128,12 @@ public class StripeWebhookController {
                     } else if (priceId.equals(sub.getShelter().getStripePremiumPriceId())) {
                         sub.setTier(Subscription.Tier.PREMIUM);
                     }
-                    subscriptionRepository.save(sub);
+                    save(sub, previousTier, previousStatus);
                 });
     }
+
+    private void save(Subscription sub, Subscription.Tier previousTier, Subscription.SubscriptionStatus previousStatus) {
+        subscriptionRepository.save(sub);
+        shelterSupportCounters.transition(sub.getShelter().getId(), previousTier, previousStatus, sub.getTier(), sub.getStatus());
+    }
 }
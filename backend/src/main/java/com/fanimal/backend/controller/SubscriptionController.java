@@ -1,5 +1,6 @@
 package com.fanimal.backend.controller;
 
+import com.fanimal.backend.dto.subscription.SubscriptionPageResponse;
 import com.fanimal.backend.dto.subscription.SubscriptionRequest;
 import com.fanimal.backend.dto.subscription.SubscriptionResponse;
 import com.fanimal.backend.service.SubscriptionService;
@@ -22,15 +23,19 @@ public class SubscriptionController {
     private final SubscriptionService subscriptionService;
 
     @PostMapping
-    public ResponseEntity<SubscriptionResponse> subscribe(@AuthenticationPrincipal UserDetails userDetails, @Valid @RequestBody SubscriptionRequest subscriptionRequest) throws StripeException {
-        SubscriptionResponse subscriptionResponse = subscriptionService.subscribe(userDetails, subscriptionRequest);
+    public ResponseEntity<SubscriptionResponse> subscribe(@AuthenticationPrincipal UserDetails userDetails, @Valid @RequestBody SubscriptionRequest subscriptionRequest,
+                                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) throws StripeException {
+        SubscriptionResponse subscriptionResponse = subscriptionService.subscribe(userDetails, subscriptionRequest, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(subscriptionResponse);
     }
 
     @GetMapping
-    public ResponseEntity<List<SubscriptionResponse>> findAllByUser(@AuthenticationPrincipal UserDetails userDetails) {
-        List<SubscriptionResponse>  subscriptionResponseList = subscriptionService.findAllByUser(userDetails);
-        return ResponseEntity.ok().body(subscriptionResponseList);
+    public ResponseEntity<SubscriptionPageResponse> findPageByUser(@AuthenticationPrincipal UserDetails userDetails,
+                                                                   @RequestParam(required = false) List<String> status,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "" + SubscriptionService.DEFAULT_PAGE_SIZE) int size) {
+        SubscriptionPageResponse subscriptionPageResponse = subscriptionService.findPageByUser(userDetails, status, cursor, size);
+        return ResponseEntity.ok().body(subscriptionPageResponse);
     }
 
     @DeleteMapping("/{id}")
@@ -4,6 +4,7 @@ import com.fanimal.backend.dto.user.UserResponse;
 import com.fanimal.backend.dto.user.UserUpdateRequest;
 import com.fanimal.backend.service.SubscriptionService;
 import com.fanimal.backend.service.UserService;
+import com.fanimal.backend.service.UserVersionCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/users")
@@ -19,12 +21,12 @@ public class UserController {
 
     private final UserService userService;
     private final SubscriptionService subscriptionService;
+    private final UserVersionCache userVersionCache;
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'SHELTER')")
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        UserResponse userResponse = userService.getCurrentUser(userDetails);
-        return ResponseEntity.ok(userResponse);
+    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails, WebRequest webRequest) {
+        return userVersionCache.conditionalGet(userDetails.getUsername(), webRequest, () -> userService.getCurrentUser(userDetails));
     }
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'SHELTER')")
@@ -0,0 +1,14 @@
+package com.fanimal.backend.dto.shelter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyShelterResponse {
+
+    private ShelterResponse shelter;
+    private double distanceKm;
+}
@@ -0,0 +1,18 @@
+package com.fanimal.backend.dto.shelter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// errors is capped; failed is the full count
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShelterImportResponse {
+
+    private int imported;
+    private int failed;
+    private List<ShelterImportError> errors;
+}
@@ -0,0 +1,14 @@
+package com.fanimal.backend.dto.shelter;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ShelterLookupRequest {
+
+    @NotEmpty
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,16 @@
+package com.fanimal.backend.dto.shelter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One entry per requested id, in request order; shelter is null when found is false
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShelterLookupResponse {
+
+    private Long id;
+    private boolean found;
+    private ShelterResponse shelter;
+}
@@ -0,0 +1,16 @@
+package com.fanimal.backend.dto.shelter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShelterPageResponse {
+
+    private List<ShelterResponse> items;
+    private String nextCursor;
+}
@@ -17,6 +17,8 @@ public class ShelterResponse {
     private String name;
     private String description;
     private String address;
+    private Double latitude;
+    private Double longitude;
 
     public static ShelterResponse fromEntity(Shelter shelter) {
         return ShelterResponse.builder()
@@ -24,6 +26,8 @@ public class ShelterResponse {
                 .name(shelter.getName())
                 .description(shelter.getDescription())
                 .address(shelter.getAddress())
+                .latitude(shelter.getLatitude())
+                .longitude(shelter.getLongitude())
                 .build();
     }
 }
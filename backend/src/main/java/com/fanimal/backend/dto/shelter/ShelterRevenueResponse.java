@@ -0,0 +1,17 @@
+package com.fanimal.backend.dto.shelter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShelterRevenueResponse {
+
+    private Long shelterId;
+    private long subscribers;
+    private BigDecimal monthlyRevenue;
+}
@@ -0,0 +1,15 @@
+package com.fanimal.backend.dto.shelter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Public, so revenue stays out of it; owners and admins read it from ShelterRevenueResponse
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShelterSupportResponse {
+
+    private ShelterResponse shelter;
+    private long subscribers;
+}
@@ -0,0 +1,16 @@
+package com.fanimal.backend.dto.subscription;
+
+import com.fanimal.backend.model.Subscription.Tier;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShelterTierCount {
+
+    private Long shelterId;
+    private Tier tier;
+    private long count;
+}
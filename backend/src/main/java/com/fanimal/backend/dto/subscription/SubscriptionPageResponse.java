@@ -0,0 +1,16 @@
+package com.fanimal.backend.dto.subscription;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionPageResponse {
+
+    private List<SubscriptionSummaryResponse> items;
+    private String nextCursor;
+}
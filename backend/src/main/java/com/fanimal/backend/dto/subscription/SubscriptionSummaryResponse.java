@@ -0,0 +1,32 @@
+package com.fanimal.backend.dto.subscription;
+
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.model.Subscription.SubscriptionStatus;
+import com.fanimal.backend.model.Subscription.Tier;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// A subscription as listed for its own user, so the user isn't repeated in every item
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionSummaryResponse {
+
+    private Long id;
+    private ShelterResponse shelter;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Tier tier;
+    private SubscriptionStatus status;
+
+    // Projection constructor for the listing query
+    public SubscriptionSummaryResponse(Long id, LocalDate startDate, LocalDate endDate, Tier tier, SubscriptionStatus status,
+                                       Long shelterId, String shelterName, String shelterDescription, String shelterAddress,
+                                       Double shelterLatitude, Double shelterLongitude) {
+        this(id, new ShelterResponse(shelterId, shelterName, shelterDescription, shelterAddress, shelterLatitude, shelterLongitude),
+                startDate, endDate, tier, status);
+    }
+}
@@ -10,5 +10,6 @@ import lombok.NoArgsConstructor;
 public class JwtResponse {
 
     private String token;
+    private String refreshToken;
     private UserResponse user;
 }
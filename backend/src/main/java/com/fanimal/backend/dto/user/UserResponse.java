@@ -2,6 +2,7 @@ package com.fanimal.backend.dto.user;
 
 import com.fanimal.backend.model.Role;
 import com.fanimal.backend.model.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,6 +21,8 @@ public class UserResponse {
     private String email;
     private String username;
     private Set<Role> roles;
+    @JsonIgnore
+    private long version;
 
     public static UserResponse fromEntity(User user) {
         return UserResponse.builder()
@@ -28,6 +31,7 @@ public class UserResponse {
                 .email(user.getEmail())
                 .username(user.getUsername())
                 .roles(user.getRoles())
+                .version(user.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -1,26 +1,31 @@
 package com.fanimal.backend.model;
-import jakarta.persistence.*;
-import lombok.*;
 
-@Entity
-@Table(name = "roles")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class Role {
+import java.util.Collection;
+import java.util.EnumSet;
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+// Stored on users.role_mask; bits follow declaration order, so new roles must be appended
+public enum Role {
+    USER,
+    SHELTER,
+    ADMIN;
 
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false, unique = true)
-    private RoleName name;
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static int toMask(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.bit();
+        }
+        return mask;
+    }
 
-    public enum RoleName {
-        USER,
-        SHELTER,
-        ADMIN
+    public static EnumSet<Role> fromMask(int mask) {
+        EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : values()) {
+            if ((mask & role.bit()) != 0) roles.add(role);
+        }
+        return roles;
     }
 }
@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "shelters")
+@Table(name = "shelters", indexes = @Index(name = "idx_shelters_name_id", columnList = "name, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,8 +20,13 @@ public class Shelter {
     private String description;
     @Column(nullable = false)
     private String address;
-    @ManyToOne
+    private Double latitude;
+    private Double longitude;
+    // Only the write paths need the owner, and they fetch it explicitly
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User owner;
     // Stripe Price IDs for different tiers
     @Column(name = "stripe_basic_price_id")
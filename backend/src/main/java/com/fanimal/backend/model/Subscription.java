@@ -7,7 +7,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "subscriptions")
+@Table(name = "subscriptions", uniqueConstraints =
+        @UniqueConstraint(name = "uk_subscriptions_stripe_subscription_id", columnNames = "stripe_subscription_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,7 +26,7 @@ public class Subscription {
     @ManyToOne
     @JoinColumn(name = "shelter_id")
     private Shelter shelter;
-    @Column(name = "stripe_subscription_id")
+    @Column(name = "stripe_subscription_id", unique = true)
     private String stripeSubscriptionId;
 
     @Enumerated(EnumType.STRING)
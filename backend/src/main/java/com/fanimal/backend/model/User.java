@@ -2,12 +2,16 @@ package com.fanimal.backend.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.Instant;
 import java.util.Set;
-import java.util.HashSet;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_users_username", columnNames = "username")
+}, indexes = @Index(name = "idx_users_created_at", columnList = "created_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,22 +22,51 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String name;
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
     @Column(nullable = false)
     private String password;
 
-    @Builder.Default
-    @ManyToMany(fetch = FetchType.EAGER)
-    @JoinTable(
-            name = "user_roles",
-            joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "role_id")
-    )
-    private Set<Role> roles = new HashSet<>();
+    @ColumnDefault("0")
+    @Column(name = "role_mask", nullable = false)
+    private int roleMask;
 
     @Column(name = "stripe_customer_id")
     private String stripeCustomerId;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "security_epoch", nullable = false)
+    private long securityEpoch = 0L;
+
+    // Null for users registered before the column existed; only the availability delta sync reads it
+    @Builder.Default
+    @Column(name = "created_at")
+    private Instant createdAt = Instant.now();
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    public Set<Role> getRoles() {
+        return Role.fromMask(roleMask);
+    }
+
+    // A role change invalidates every token minted under the old roles
+    public void setRoles(Set<Role> roles) {
+        int mask = Role.toMask(roles);
+        if (mask != roleMask) securityEpoch++;
+        this.roleMask = mask;
+    }
+
+    public static class UserBuilder {
+
+        public UserBuilder roles(Set<Role> roles) {
+            this.roleMask = Role.toMask(roles);
+            return this;
+        }
+    }
 }
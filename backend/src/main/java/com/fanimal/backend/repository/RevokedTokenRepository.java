@@ -0,0 +1,32 @@
+package com.fanimal.backend.repository;
+
+import com.fanimal.backend.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select r.jti from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveJtis(Instant now);
+
+    @Query("select r.jti from RevokedToken r where r.revokedAt > :since and r.expiresAt > :now")
+    List<String> findJtisRevokedSince(Instant since, Instant now);
+
+    // A plain insert, unlike save()'s merge, fails on a jti that is already revoked
+    @Transactional
+    @Modifying
+    @Query("insert into RevokedToken (jti, expiresAt, revokedAt) values (:jti, :expiresAt, :revokedAt)")
+    int insert(String jti, Instant expiresAt, Instant revokedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(Instant now);
+}
@@ -1,13 +0,0 @@
-package com.fanimal.backend.repository;
-
-import com.fanimal.backend.model.Role;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
-
-@Repository
-public interface RoleRepository extends JpaRepository<Role,Long> {
-
-    Optional<Role> findByName(Role.RoleName name);
-}
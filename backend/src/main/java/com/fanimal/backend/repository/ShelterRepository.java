@@ -1,13 +1,58 @@
 package com.fanimal.backend.repository;
 
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.dto.shelter.ShelterSuggestionResponse;
 import com.fanimal.backend.model.Shelter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ShelterRepository extends JpaRepository<Shelter, Long> {
 
     Optional<Shelter> findByName(String name);
+
+    // For the ownership checks in update/delete; everything else reads projections
+    @EntityGraph(attributePaths = "owner")
+    Optional<Shelter> findWithOwnerById(Long id);
+
+    @Query("select new com.fanimal.backend.dto.shelter.ShelterResponse(s.id, s.name, s.description, s.address, s.latitude, s.longitude) " +
+            "from Shelter s where s.id = :id")
+    Optional<ShelterResponse> findResponseById(Long id);
+
+    @Query("select new com.fanimal.backend.dto.shelter.ShelterResponse(s.id, s.name, s.description, s.address, s.latitude, s.longitude) " +
+            "from Shelter s where s.id in :ids")
+    List<ShelterResponse> findResponsesByIdIn(Collection<Long> ids);
+
+    // Keyset pages project straight into the DTO, so neither the entity nor its owner is loaded
+    @Query("select new com.fanimal.backend.dto.shelter.ShelterResponse(s.id, s.name, s.description, s.address, s.latitude, s.longitude) " +
+            "from Shelter s order by s.id")
+    List<ShelterResponse> findPageById(Limit limit);
+
+    @Query("select new com.fanimal.backend.dto.shelter.ShelterResponse(s.id, s.name, s.description, s.address, s.latitude, s.longitude) " +
+            "from Shelter s where s.id > :id order by s.id")
+    List<ShelterResponse> findPageByIdAfter(Long id, Limit limit);
+
+    @Query("select new com.fanimal.backend.dto.shelter.ShelterResponse(s.id, s.name, s.description, s.address, s.latitude, s.longitude) " +
+            "from Shelter s order by s.name, s.id")
+    List<ShelterResponse> findPageByName(Limit limit);
+
+    @Query("select new com.fanimal.backend.dto.shelter.ShelterResponse(s.id, s.name, s.description, s.address, s.latitude, s.longitude) " +
+            "from Shelter s where s.name > :name or (s.name = :name and s.id > :id) order by s.name, s.id")
+    List<ShelterResponse> findPageByNameAfter(String name, Long id, Limit limit);
+
+    @Query("select new com.fanimal.backend.dto.shelter.ShelterResponse(s.id, s.name, s.description, s.address, s.latitude, s.longitude) " +
+            "from Shelter s where s.latitude is not null and s.longitude is not null")
+    List<ShelterResponse> findAllLocated();
+
+    @Query("select new com.fanimal.backend.dto.shelter.ShelterSuggestionResponse(s.id, s.name) from Shelter s")
+    List<ShelterSuggestionResponse> findAllSuggestions();
 }
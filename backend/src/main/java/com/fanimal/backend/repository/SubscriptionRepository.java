@@ -1,16 +1,34 @@
 package com.fanimal.backend.repository;
 
+import com.fanimal.backend.dto.subscription.ShelterTierCount;
+import com.fanimal.backend.dto.subscription.SubscriptionSummaryResponse;
 import com.fanimal.backend.model.Subscription;
-import com.fanimal.backend.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
 
-    List<Subscription> findAllByUser(User user);
     Optional<Subscription> findByStripeSubscriptionId(String stripeSubscriptionId);
+
+    // Keyset pages for one user, newest first; the shelter is projected alongside so no entity is loaded
+    @Query("select new com.fanimal.backend.dto.subscription.SubscriptionSummaryResponse(s.id, s.startDate, s.endDate, s.tier, s.status, " +
+            "sh.id, sh.name, sh.description, sh.address, sh.latitude, sh.longitude) " +
+            "from Subscription s join s.shelter sh where s.user.username = :username and s.status in :statuses order by s.id desc")
+    List<SubscriptionSummaryResponse> findPageByUsername(String username, Collection<Subscription.SubscriptionStatus> statuses, Limit limit);
+
+    @Query("select new com.fanimal.backend.dto.subscription.SubscriptionSummaryResponse(s.id, s.startDate, s.endDate, s.tier, s.status, " +
+            "sh.id, sh.name, sh.description, sh.address, sh.latitude, sh.longitude) " +
+            "from Subscription s join s.shelter sh where s.user.username = :username and s.status in :statuses and s.id < :id order by s.id desc")
+    List<SubscriptionSummaryResponse> findPageByUsernameBefore(String username, Collection<Subscription.SubscriptionStatus> statuses, Long id, Limit limit);
+
+    @Query("select new com.fanimal.backend.dto.subscription.ShelterTierCount(s.shelter.id, s.tier, count(s)) " +
+            "from Subscription s where s.status in :statuses and s.tier is not null group by s.shelter.id, s.tier")
+    List<ShelterTierCount> countSupportingByShelterAndTier(Collection<Subscription.SubscriptionStatus> statuses);
 }
@@ -1,9 +1,15 @@
 package com.fanimal.backend.repository;
 
 import com.fanimal.backend.model.User;
+import com.fanimal.backend.security.SecurityStamp;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +19,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByEmail(String email);
     Optional<User> findByEmail(String email);
+    Optional<SecurityStamp> findStampByUsername(String username);
+
+    @Query("select u.username from User u")
+    List<String> findAllUsernames();
+
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
+
+    @Query("select u.username from User u where u.createdAt > :since")
+    List<String> findUsernamesCreatedSince(Instant since);
+
+    @Query("select u.email from User u where u.createdAt > :since")
+    List<String> findEmailsCreatedSince(Instant since);
+
+    @Query("select u.stripeCustomerId from User u where u.id = :id")
+    Optional<String> findStripeCustomerIdById(Long id);
+
+    // Only succeeds while no customer is stored, so concurrent creations can't overwrite each other
+    @Transactional
+    @Modifying
+    @Query("update User u set u.stripeCustomerId = :customerId where u.id = :id and u.stripeCustomerId is null")
+    int claimStripeCustomerId(Long id, String customerId);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePasswordByUsername(String username, String password);
 }
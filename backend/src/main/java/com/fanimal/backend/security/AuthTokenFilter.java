@@ -5,6 +5,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,14 +22,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final CustomUserDetailsService customUserDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SecurityEpochRegistry securityEpochRegistry;
+    private final TokenRevocationService tokenRevocationService;
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String token = parseToken(request);
-            if  (token != null && jwtUtils.validateToken(token)) {
-                final String username = jwtUtils.getUsernameFromToken(token);
-                final UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+            if (token != null) {
+                final UserDetails userDetails = resolvePrincipal(token);
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
@@ -37,6 +44,36 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolvePrincipal(String token) {
+        VerifiedTokenCache.VerifiedToken cached = verifiedTokenCache.get(token);
+        TokenClaims claims;
+        UserDetails userDetails;
+        if (cached != null) {
+            claims = cached.claims();
+            userDetails = cached.principal();
+        } else {
+            // Parsing verifies the signature and rejects expired tokens in a single pass
+            claims = jwtUtils.parseToken(token);
+            if (claims.refresh()) {
+                throw new BadCredentialsException("Refresh tokens cannot be used for authentication");
+            }
+            userDetails = stateless
+                    ? jwtUtils.getPrincipal(claims)
+                    : customUserDetailsService.loadUserByUsername(claims.subject());
+            verifiedTokenCache.put(token, claims, userDetails);
+        }
+        // Checked on cache hits too, so a logout takes effect on the very next request
+        if (tokenRevocationService.isRevoked(claims.tokenId())) {
+            verifiedTokenCache.evict(token);
+            throw new CredentialsExpiredException("Token has been revoked");
+        }
+        if (stateless && !securityEpochRegistry.isCurrent(claims.subject(), claims.userId(), claims.securityEpoch())) {
+            verifiedTokenCache.evict(token);
+            throw new CredentialsExpiredException("Token no longer matches the user's security epoch");
+        }
+        return userDetails;
+    }
+
     private String parseToken(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
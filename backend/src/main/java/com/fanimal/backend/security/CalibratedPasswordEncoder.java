@@ -0,0 +1,79 @@
+package com.fanimal.backend.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+    private static final int WARM_UP_ROUNDS = 5;
+    private static final int SAMPLES = 5;
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    public CalibratedPasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    // Picks the highest cost whose median hash time stays within the target on this machine. The JIT is warmed up
+    // first so a cold first encode doesn't pull the cost down
+    public static int calibrate(long targetMillis) {
+        BCryptPasswordEncoder warmUp = new BCryptPasswordEncoder(MIN_STRENGTH);
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            warmUp.encode("calibration-password");
+        }
+        int chosen = MIN_STRENGTH;
+        for (int candidate = MIN_STRENGTH; candidate <= MAX_STRENGTH; candidate++) {
+            if (medianMillis(new BCryptPasswordEncoder(candidate)) > targetMillis) break;
+            chosen = candidate;
+        }
+        return chosen;
+    }
+
+    private static long medianMillis(BCryptPasswordEncoder encoder) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long started = System.nanoTime();
+            encoder.encode("calibration-password");
+            samples[i] = (System.nanoTime() - started) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+
+    // Median time of one hash at this encoder's cost, after a warm-up encode
+    public long measureMillis() {
+        delegate.encode("calibration-password");
+        return medianMillis(delegate);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    // Only ever raises the cost: nodes that calibrate to different costs would otherwise re-hash back and forth
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) return false;
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
@@ -1,62 +1,122 @@
 package com.fanimal.backend.security;
 
 import com.fanimal.backend.dto.user.UserResponse;
+import com.fanimal.backend.model.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
 
+    // Short claim names keep the Authorization header small
+    static final String USER_ID = "uid";
+    static final String SECURITY_EPOCH = "ep";
+    static final String ROLES = "rl";
+    static final String TYPE = "typ";
+    static final String REFRESH = "refresh";
+
+    private static final List<List<GrantedAuthority>> AUTHORITIES_BY_MASK = authoritiesByMask();
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private long expiration;
 
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long refreshExpiration;
+
     private SecretKey key;
+    private JwtParser parser;
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // JwtParser is immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
     }
 
-    public String generateToken(UserResponse userResponse) {
+    public String generateToken(UserResponse userResponse, long securityEpoch) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userResponse.getUsername())
-                .claim("roles", userResponse.getRoles())
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .claim(USER_ID, userResponse.getId())
+                .claim(SECURITY_EPOCH, securityEpoch)
+                .claim(ROLES, Role.toMask(userResponse.getRoles()))
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
                 .signWith(key)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims.getSubject();
+    // Refresh tokens carry no roles; they're only exchanged at /api/auth/refresh, which reloads the user
+    public String generateRefreshToken(UserResponse userResponse, long securityEpoch) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(userResponse.getUsername())
+                .claim(USER_ID, userResponse.getId())
+                .claim(SECURITY_EPOCH, securityEpoch)
+                .claim(TYPE, REFRESH)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + refreshExpiration))
+                .signWith(key)
+                .compact();
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Claims claims = getClaimsFromToken(token);
-            return !claims.getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
+    public TokenClaims parseToken(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Long userId = claims.get(USER_ID, Long.class);
+        Long securityEpoch = claims.get(SECURITY_EPOCH, Long.class);
+        // Tokens issued before uid/ep existed can't be checked against the user's epoch, so they're refused outright
+        if (claims.getId() == null || claims.getSubject() == null || userId == null || securityEpoch == null
+                || claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token is missing required claims");
         }
+        Integer roleMask = claims.get(ROLES, Integer.class);
+        return new TokenClaims(
+                claims.getId(),
+                claims.getSubject(),
+                userId,
+                securityEpoch,
+                roleMask != null ? roleMask : 0,
+                REFRESH.equals(claims.get(TYPE, String.class)),
+                claims.getExpiration().getTime()
+        );
     }
 
-    public Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public UserDetails getPrincipal(TokenClaims tokenClaims) {
+        return new User(tokenClaims.subject(), "", AUTHORITIES_BY_MASK.get(tokenClaims.roleMask()));
+    }
+
+    private static List<List<GrantedAuthority>> authoritiesByMask() {
+        int combinations = 1 << Role.values().length;
+        List<List<GrantedAuthority>> authorities = new ArrayList<>(combinations);
+        for (int mask = 0; mask < combinations; mask++) {
+            authorities.add(Role.fromMask(mask).stream()
+                    .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                    .toList());
+        }
+        return List.copyOf(authorities);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package com.fanimal.backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// BCrypt runs on its own bounded pool so a login burst cannot occupy every request thread
+public class PasswordHashingExecutor {
+
+    static final int MAX_QUEUE_CAPACITY = 10_000;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public PasswordHashingExecutor(int poolSize, int queueCapacity, long timeoutMillis, MeterRegistry meterRegistry) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        this.waitTimer = Timer.builder("password.hashing.wait").register(meterRegistry);
+        this.rejections = Counter.builder("password.hashing.rejected").register(meterRegistry);
+        Gauge.builder("password.hashing.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    // A timeout only frees the caller: BCrypt is CPU-bound and never checks for interrupts, so a running hash
+    // keeps its pool thread until it finishes. Only a task still queued is actually dropped.
+    public <T> T execute(Supplier<T> task) {
+        // Shed load before queueing once the backlog is full, after dropping tasks whose callers already gave up
+        if (executor.getQueue().remainingCapacity() == 0) {
+            executor.purge();
+            if (executor.getQueue().remainingCapacity() == 0) {
+                throw busy();
+            }
+        }
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            });
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            // Frees the queue slot if the task never started; a running one carries on regardless
+            executor.purge();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication was interrupted");
+        }
+    }
+
+    // As many hashes as the pool gets through within the timeout; a task queued any deeper would time out before it ran
+    public static int queueCapacityFor(long timeoutMillis, long hashMillis, int poolSize) {
+        long capacity = timeoutMillis * poolSize / Math.max(1, hashMillis);
+        return Math.clamp(capacity, 1, MAX_QUEUE_CAPACITY);
+    }
+
+    private ResponseStatusException busy() {
+        rejections.increment();
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, please retry");
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
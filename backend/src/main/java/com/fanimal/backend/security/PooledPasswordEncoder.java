@@ -0,0 +1,36 @@
+package com.fanimal.backend.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Only the hash itself goes through the bounded pool: the user lookup DaoAuthenticationProvider does around
+// matches() stays on the request thread, so JDBC latency never holds a hashing slot or eats the queue timeout
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Only reads the cost from the stored hash, so it doesn't need a pool slot
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
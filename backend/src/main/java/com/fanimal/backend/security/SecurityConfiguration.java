@@ -1,6 +1,8 @@
 package com.fanimal.backend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,7 +13,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -38,8 +39,25 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password-hashing.strength:0}") int strength,
+                                           @Value("${security.password-hashing.target-ms:250}") long targetMillis,
+                                           @Value("${security.password-hashing.pool-size:2}") int poolSize,
+                                           @Value("${security.password-hashing.queue-capacity:0}") int queueCapacity,
+                                           @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMillis,
+                                           MeterRegistry meterRegistry) {
+        CalibratedPasswordEncoder encoder;
+        if (strength > 0) {
+            encoder = new CalibratedPasswordEncoder(strength);
+        } else {
+            int calibrated = CalibratedPasswordEncoder.calibrate(targetMillis);
+            System.out.println("BCrypt strength calibrated to " + calibrated + " for a " + targetMillis + "ms target");
+            encoder = new CalibratedPasswordEncoder(calibrated);
+        }
+        if (queueCapacity <= 0) {
+            queueCapacity = PasswordHashingExecutor.queueCapacityFor(timeoutMillis, encoder.measureMillis(), poolSize);
+            System.out.println("Password hashing queue sized to " + queueCapacity + " for a " + timeoutMillis + "ms timeout");
+        }
+        return new PooledPasswordEncoder(encoder, new PasswordHashingExecutor(poolSize, queueCapacity, timeoutMillis, meterRegistry));
     }
 
     @Bean
@@ -70,7 +88,7 @@ public class SecurityConfiguration {
                 "https://fanimal-fui5.onrender.com"
         ));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Idempotency-Key"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,67 @@
+package com.fanimal.backend.security;
+
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class SecurityEpochRegistry {
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final Map<String, StampEntry> stamps = new ConcurrentHashMap<>();
+
+    // The TTL bounds how long a role change or delete made on another node can go unnoticed here
+    public SecurityEpochRegistry(UserRepository userRepository,
+                                 @Value("${jwt.epoch.stamp-ttl-ms:10000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public boolean isCurrent(String username, long userId, long securityEpoch) {
+        StampEntry entry = stamps.get(username);
+        SecurityStamp stamp = entry == null || entry.expiresAt() <= System.currentTimeMillis() ? null : entry.stamp();
+        // Only hit the database when this node's stamp is missing, stale, or behind the token
+        if (stamp == null || stamp.id() != userId || stamp.securityEpoch() < securityEpoch) {
+            stamp = reload(username);
+            if (stamp == null) return false;
+        }
+        return stamp.id() == userId && stamp.securityEpoch() == securityEpoch;
+    }
+
+    public void revoke(User user) {
+        record(user.getUsername(), new SecurityStamp(user.getId(), DELETED));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.epoch.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        stamps.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private SecurityStamp reload(String username) {
+        return userRepository.findStampByUsername(username)
+                .map(stamp -> {
+                    record(username, stamp);
+                    return stamp;
+                })
+                .orElseGet(() -> {
+                    stamps.remove(username);
+                    return null;
+                });
+    }
+
+    private void record(String username, SecurityStamp stamp) {
+        stamps.put(username, new StampEntry(stamp, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private record StampEntry(SecurityStamp stamp, long expiresAt) {
+    }
+}
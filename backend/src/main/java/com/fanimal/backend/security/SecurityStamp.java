@@ -0,0 +1,4 @@
+package com.fanimal.backend.security;
+
+public record SecurityStamp(Long id, long securityEpoch) {
+}
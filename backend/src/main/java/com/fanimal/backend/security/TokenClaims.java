@@ -0,0 +1,4 @@
+package com.fanimal.backend.security;
+
+public record TokenClaims(String tokenId, String subject, long userId, long securityEpoch, int roleMask, boolean refresh, long expiresAt) {
+}
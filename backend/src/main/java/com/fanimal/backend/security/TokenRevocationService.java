@@ -0,0 +1,116 @@
+package com.fanimal.backend.security;
+
+import com.fanimal.backend.repository.RevokedTokenRepository;
+import com.fanimal.backend.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final long syncOverlapMillis;
+    private final int maxVerdicts;
+    // Exact answers for jtis the filter flagged, so a false positive costs one query rather than one per request
+    private final Map<String, Boolean> verdicts = new ConcurrentHashMap<>();
+    private final Counter filterPositives;
+    private final Counter databaseChecks;
+    private volatile BloomFilter filter;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.revocation.expected-insertions:100000}") int expectedRevocations,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                                  @Value("${jwt.revocation.sync-overlap-ms:5000}") long syncOverlapMillis,
+                                  @Value("${jwt.revocation.max-verdicts:10000}") int maxVerdicts,
+                                  MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlapMillis = syncOverlapMillis;
+        this.maxVerdicts = maxVerdicts;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.filterPositives = Counter.builder("jwt.revocation.filter.positives").register(meterRegistry);
+        this.databaseChecks = Counter.builder("jwt.revocation.database.checks").register(meterRegistry);
+    }
+
+    // Fast path for access tokens; refresh tokens go through claim() instead
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) return false;
+        filterPositives.increment();
+        Boolean verdict = verdicts.get(jti);
+        if (verdict != null) return verdict;
+        databaseChecks.increment();
+        boolean revoked = revokedTokenRepository.existsById(jti);
+        remember(jti, revoked);
+        return revoked;
+    }
+
+    public void revoke(String jti, long expiresAt) {
+        claim(jti, expiresAt);
+    }
+
+    // Revokes the jti and reports whether this call was the one that did it; the database decides, so only one
+    // node can ever claim a given refresh token however stale its filter is
+    public boolean claim(String jti, long expiresAt) {
+        if (jti == null || expiresAt <= System.currentTimeMillis()) return false;
+        boolean claimed;
+        try {
+            claimed = revokedTokenRepository.insert(jti, Instant.ofEpochMilli(expiresAt), Instant.now()) == 1;
+        } catch (DataIntegrityViolationException e) {
+            claimed = false;
+        }
+        filter.put(jti);
+        remember(jti, true);
+        return claimed;
+    }
+
+    // Pulls revocations made on other nodes; the overlap absorbs clock skew and commits that landed late
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:10000}", initialDelayString = "${jwt.revocation.sync-interval-ms:10000}")
+    public void syncDelta() {
+        Instant now = Instant.now();
+        List<String> jtis = revokedTokenRepository.findJtisRevokedSince(lastSync.minusMillis(syncOverlapMillis), now);
+        BloomFilter current = filter;
+        for (String jti : jtis) {
+            current.put(jti);
+            remember(jti, true);
+        }
+        lastSync = now;
+    }
+
+    // Expired revocations no longer matter, so the filter is rebuilt from the live rows to stop it filling up
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}", initialDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+        List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, jtis.size() * 2), falsePositiveRate);
+        jtis.forEach(rebuilt::put);
+        filter = rebuilt;
+        verdicts.clear();
+        lastSync = now;
+        // Anything revoked while the rows were loading is picked up by the next delta sync
+        syncDelta();
+    }
+
+    private void remember(String jti, boolean revoked) {
+        if (verdicts.size() >= maxVerdicts) {
+            verdicts.clear();
+        }
+        verdicts.put(jti, revoked);
+    }
+}
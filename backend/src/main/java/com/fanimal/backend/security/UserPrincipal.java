@@ -0,0 +1,19 @@
+package com.fanimal.backend.security;
+
+import com.fanimal.backend.model.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+// Keeps the entity loaded during authentication so login doesn't have to query it again
+@Getter
+public class UserPrincipal extends org.springframework.security.core.userdetails.User {
+
+    private final transient User user;
+
+    public UserPrincipal(User user, Collection<? extends GrantedAuthority> authorities) {
+        super(user.getUsername(), user.getPassword(), authorities);
+        this.user = user;
+    }
+}
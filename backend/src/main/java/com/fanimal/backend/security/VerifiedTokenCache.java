@@ -0,0 +1,102 @@
+package com.fanimal.backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("jwt.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("jwt.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("jwt.cache.evictions").register(meterRegistry);
+        Gauge.builder("jwt.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public VerifiedToken get(String token) {
+        String key = digest(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            // Expired tokens fall through to the parser so the caller sees the usual rejection
+            if (entries.remove(key, cached)) evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    public void put(String token, TokenClaims claims, UserDetails principal) {
+        long expiresAt = claims.expiresAt();
+        if (expiresAt <= System.currentTimeMillis()) return;
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(digest(token), new VerifiedToken(claims, principal, expiresAt));
+    }
+
+    public void evict(String token) {
+        if (entries.remove(digest(token)) != null) evictions.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> {
+            boolean expired = entry.isExpired(now);
+            if (expired) evictions.increment();
+            return expired;
+        });
+    }
+
+    private void makeRoom() {
+        purgeExpired();
+        // Still full: drop arbitrary entries, they'll be re-verified on their next use
+        Iterator<VerifiedToken> iterator = entries.values().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record VerifiedToken(TokenClaims claims, UserDetails principal, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
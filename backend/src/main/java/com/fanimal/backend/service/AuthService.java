@@ -1,77 +1,147 @@
 package com.fanimal.backend.service;
 
+import com.fanimal.backend.dto.user.AvailabilityResponse;
 import com.fanimal.backend.dto.user.JwtResponse;
 import com.fanimal.backend.dto.user.LoginRequest;
 import com.fanimal.backend.dto.user.RegisterRequest;
 import com.fanimal.backend.dto.user.UserResponse;
 import com.fanimal.backend.model.Role;
 import com.fanimal.backend.model.User;
-import com.fanimal.backend.repository.RoleRepository;
 import com.fanimal.backend.repository.UserRepository;
 import com.fanimal.backend.security.JwtUtils;
+import com.fanimal.backend.security.TokenClaims;
+import com.fanimal.backend.security.TokenRevocationService;
+import com.fanimal.backend.security.UserPrincipal;
+import com.fanimal.backend.security.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.security.InvalidParameterException;
+import java.util.EnumSet;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserAvailabilityIndex userAvailabilityIndex;
+    private final UserVersionCache userVersionCache;
 
     public JwtResponse register(RegisterRequest registerRequest) {
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
-        }
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists");
-        }
-        Role userRole = roleRepository.findByName(Role.RoleName.USER)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Role not found"));
         User user = User.builder()
                 .name(registerRequest.getName())
                 .email(registerRequest.getEmail())
                 .username(registerRequest.getUsername())
                 .password(passwordEncoder.encode(registerRequest.getPassword()))
+                .roles(EnumSet.of(Role.USER))
                 .build();
-        user.getRoles().add(userRole);
-        user = userRepository.save(user);
-        UserResponse userResponse = UserResponse.fromEntity(user);
-        String token = jwtUtils.generateToken(userResponse);
-        return new JwtResponse(token, userResponse);
+        // The unique constraints on email/username replace the exists checks
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw conflict(e);
+        }
+        userAvailabilityIndex.add(user);
+        return issueTokens(user);
     }
 
     public JwtResponse login(LoginRequest loginRequest) {
+        // The password check inside runs on the hashing pool, see PooledPasswordEncoder
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         loginRequest.getUsername(),
                         loginRequest.getPassword()
                 )
         );
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        UserResponse userResponse = UserResponse.fromEntity(user);
-        String token = jwtUtils.generateToken(userResponse);
-        return new JwtResponse(token, userResponse);
+        User user = ((UserPrincipal) authentication.getPrincipal()).getUser();
+        return issueTokens(user);
+    }
+
+    public JwtResponse refresh(String refreshToken) {
+        TokenClaims claims = parseOrNull(refreshToken);
+        if (claims == null || !claims.refresh()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        // Rotate: each refresh token is single-use. Claiming it in the database, rather than checking the local
+        // filter, also stops a replay on another node that hasn't synced the revocation yet
+        if (!tokenRevocationService.claim(claims.tokenId(), claims.expiresAt())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        User user = userRepository.findById(claims.userId())
+                .filter(found -> found.getSecurityEpoch() == claims.securityEpoch())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+        return issueTokens(user);
+    }
+
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            TokenClaims claims = parseOrNull(accessToken);
+            if (claims != null) tokenRevocationService.revoke(claims.tokenId(), claims.expiresAt());
+            verifiedTokenCache.evict(accessToken);
+        }
+        if (refreshToken != null) {
+            TokenClaims claims = parseOrNull(refreshToken);
+            if (claims != null && claims.refresh()) tokenRevocationService.revoke(claims.tokenId(), claims.expiresAt());
+        }
+    }
+
+    public AvailabilityResponse checkAvailability(String username, String email) {
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasUsername && !hasEmail) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Username or email is required");
+        }
+        return new AvailabilityResponse(
+                hasUsername ? userAvailabilityIndex.isUsernameAvailable(username) : null,
+                hasEmail ? userAvailabilityIndex.isEmailAvailable(email) : null
+        );
     }
 
     public UserResponse verify(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        userVersionCache.record(user);
         return UserResponse.fromEntity(user);
     }
+
+    private JwtResponse issueTokens(User user) {
+        UserResponse userResponse = UserResponse.fromEntity(user);
+        String token = jwtUtils.generateToken(userResponse, user.getSecurityEpoch());
+        String refreshToken = jwtUtils.generateRefreshToken(userResponse, user.getSecurityEpoch());
+        return new JwtResponse(token, refreshToken, userResponse);
+    }
+
+    // Expired or tampered tokens have nothing left to revoke
+    private TokenClaims parseOrNull(String token) {
+        try {
+            return jwtUtils.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private ResponseStatusException conflict(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+        if (message.contains("uk_users_email") || message.contains("(email")) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
+        }
+        if (message.contains("uk_users_username") || message.contains("(username")) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists");
+        }
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Email or username already exists");
+    }
 }
@@ -0,0 +1,91 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.model.Shelter;
+import com.fanimal.backend.repository.ShelterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Stand-in for the Postgres search under the H2 test profile: weighted fields and AND across terms, but no stemming
+@Component
+@Profile("test")
+@RequiredArgsConstructor
+public class InMemoryShelterSearchIndex implements ShelterSearchIndex {
+
+    private static final double NAME_WEIGHT = 1.0;
+    private static final double DESCRIPTION_WEIGHT = 0.4;
+    private static final double ADDRESS_WEIGHT = 0.2;
+
+    private final ShelterRepository shelterRepository;
+    private final Map<String, Map<Long, Double>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, ShelterResponse> documents = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        shelterRepository.findAll().forEach(this::index);
+    }
+
+    @Override
+    public synchronized void index(Shelter shelter) {
+        remove(shelter.getId());
+        Map<String, Double> weights = new HashMap<>();
+        addTerms(weights, shelter.getName(), NAME_WEIGHT);
+        addTerms(weights, shelter.getDescription(), DESCRIPTION_WEIGHT);
+        addTerms(weights, shelter.getAddress(), ADDRESS_WEIGHT);
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(shelter.getId(), weight));
+        documents.put(shelter.getId(), ShelterResponse.fromEntity(shelter));
+    }
+
+    @Override
+    public synchronized void remove(Long shelterId) {
+        if (documents.remove(shelterId) == null) return;
+        postings.values().forEach(posting -> posting.remove(shelterId));
+        postings.values().removeIf(Map::isEmpty);
+    }
+
+    @Override
+    public List<ShelterResponse> search(String query, int offset, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) return List.of();
+        Map<Long, Double> scores = null;
+        for (String term : terms) {
+            Map<Long, Double> posting = postings.getOrDefault(term, Map.of());
+            if (scores == null) {
+                scores = new HashMap<>(posting);
+            } else {
+                scores.keySet().retainAll(posting.keySet());
+                scores.replaceAll((id, score) -> score + posting.getOrDefault(id, 0.0));
+            }
+            if (scores.isEmpty()) return List.of();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .skip(offset)
+                .limit(limit)
+                .map(entry -> documents.get(entry.getKey()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static void addTerms(Map<String, Double> weights, String text, double weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Double::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) return List.of();
+        List<String> terms = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) terms.add(token);
+        }
+        return terms;
+    }
+}
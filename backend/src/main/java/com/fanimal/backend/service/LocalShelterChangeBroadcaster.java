@@ -0,0 +1,14 @@
+package com.fanimal.backend.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// Single node under the H2 test profile: ShelterService already invalidated the local cache
+@Component
+@Profile("test")
+public class LocalShelterChangeBroadcaster implements ShelterChangeBroadcaster {
+
+    @Override
+    public void publish(Long shelterId) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.repository.ShelterRepository;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+// Fans shelter changes out to the other replicas with Postgres NOTIFY; payload is "<node> <sentAtMillis> <shelterId|*>"
+@Component
+@Profile("!test")
+public class PostgresShelterChangeBroadcaster implements ShelterChangeBroadcaster {
+
+    private static final String CHANNEL = "shelter_changes";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final ShelterRepository shelterRepository;
+    private final ShelterCache shelterCache;
+    private final ShelterGeoIndex shelterGeoIndex;
+    private final ShelterSuggestIndex shelterSuggestIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int pollMs;
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresShelterChangeBroadcaster(JdbcTemplate jdbcTemplate,
+                                            ShelterRepository shelterRepository,
+                                            ShelterCache shelterCache,
+                                            ShelterGeoIndex shelterGeoIndex,
+                                            ShelterSuggestIndex shelterSuggestIndex,
+                                            ApplicationEventPublisher eventPublisher,
+                                            @Value("${spring.datasource.url}") String url,
+                                            @Value("${spring.datasource.username}") String username,
+                                            @Value("${spring.datasource.password}") String password,
+                                            @Value("${shelters.cache.listen-poll-ms:5000}") int pollMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shelterRepository = shelterRepository;
+        this.shelterCache = shelterCache;
+        this.shelterGeoIndex = shelterGeoIndex;
+        this.shelterSuggestIndex = shelterSuggestIndex;
+        this.eventPublisher = eventPublisher;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollMs = pollMs;
+    }
+
+    @Override
+    public void publish(Long shelterId) {
+        try {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class,
+                    CHANNEL, nodeId + " " + System.currentTimeMillis() + " " + (shelterId == null ? "*" : shelterId));
+        } catch (RuntimeException e) {
+            // The write already succeeded; other nodes catch up when their cache TTL expires
+            System.out.println("Failed to broadcast change to shelter " + shelterId + ": " + e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        listener = new Thread(this::listen, "shelter-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) listener.interrupt();
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            // A dedicated connection, so LISTEN doesn't pin one of the pool's
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    // Notifications sent while we were disconnected are gone, so start over
+                    resync();
+                }
+                reconnecting = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMs);
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) return;
+                System.out.println("Shelter change listener disconnected: " + e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(pollMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        String[] parts = payload.split(" ");
+        if (parts.length != 3 || parts[0].equals(nodeId)) return;
+        long shelterId;
+        long sentAt;
+        try {
+            sentAt = Long.parseLong(parts[1]);
+            if (parts[2].equals("*")) {
+                shelterCache.recordInvalidationLag(sentAt);
+                resync();
+                return;
+            }
+            shelterId = Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            System.out.println("Ignoring malformed shelter change: " + payload);
+            return;
+        }
+        shelterCache.invalidate(shelterId);
+        shelterCache.recordInvalidationLag(sentAt);
+        // The projection refills the cache and feeds the indexes without hydrating the entity
+        ShelterResponse shelter = shelterCache.getShelters(List.of(shelterId), shelterRepository::findResponsesByIdIn).get(shelterId);
+        if (shelter != null) {
+            shelterGeoIndex.index(shelter);
+            shelterSuggestIndex.index(shelter);
+        } else {
+            shelterGeoIndex.remove(shelterId);
+            shelterSuggestIndex.remove(shelterId);
+        }
+        eventPublisher.publishEvent(new ShelterChangedEvent(shelterId));
+    }
+
+    private void resync() {
+        shelterCache.invalidateAll();
+        shelterGeoIndex.rebuild();
+        shelterSuggestIndex.rebuild();
+        eventPublisher.publishEvent(new ShelterChangedEvent(null));
+    }
+}
@@ -0,0 +1,70 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.model.Shelter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public class PostgresShelterSearchIndex implements ShelterSearchIndex {
+
+    // Name outranks description, which outranks address
+    private static final String VECTOR = "setweight(to_tsvector('english', coalesce(name, '')), 'A') || " +
+            "setweight(to_tsvector('english', coalesce(description, '')), 'B') || " +
+            "setweight(to_tsvector('english', coalesce(address, '')), 'C')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The column isn't mapped on Shelter (H2 has no tsvector), so it's managed here rather than by ddl-auto
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSchema() {
+        jdbcTemplate.execute("ALTER TABLE shelters ADD COLUMN IF NOT EXISTS search_vector tsvector");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_shelters_search_vector ON shelters USING GIN (search_vector)");
+        int backfilled = jdbcTemplate.update("UPDATE shelters SET search_vector = " + VECTOR + " WHERE search_vector IS NULL");
+        if (backfilled > 0) {
+            System.out.println("Indexed " + backfilled + " shelters for search");
+        }
+    }
+
+    @Override
+    public void index(Shelter shelter) {
+        jdbcTemplate.update("UPDATE shelters SET search_vector = " + VECTOR + " WHERE id = ?", shelter.getId());
+    }
+
+    @Override
+    public void indexAll(List<Shelter> shelters) {
+        jdbcTemplate.batchUpdate("UPDATE shelters SET search_vector = " + VECTOR + " WHERE id = ?",
+                shelters, shelters.size(), (statement, shelter) -> statement.setLong(1, shelter.getId()));
+    }
+
+    @Override
+    public void remove(Long shelterId) {
+        // The vector lives on the row, so deleting the shelter removes it
+    }
+
+    @Override
+    public List<ShelterResponse> search(String query, int offset, int limit) {
+        return jdbcTemplate.query(
+                "SELECT s.id, s.name, s.description, s.address, s.latitude, s.longitude " +
+                        "FROM shelters s, websearch_to_tsquery('english', ?) q " +
+                        "WHERE s.search_vector @@ q " +
+                        "ORDER BY ts_rank(s.search_vector, q) DESC, s.id " +
+                        "LIMIT ? OFFSET ?",
+                (rs, rowNum) -> new ShelterResponse(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        rs.getString("address"),
+                        rs.getObject("latitude", Double.class),
+                        rs.getObject("longitude", Double.class)),
+                query, limit, offset);
+    }
+}
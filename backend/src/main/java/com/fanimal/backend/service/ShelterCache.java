@@ -0,0 +1,153 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterPageResponse;
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Read-through LRU for shelter lookups and catalog pages; the TTL bounds staleness if an invalidation is ever missed
+@Component
+public class ShelterCache {
+
+    private final long ttlMs;
+    private final Map<Long, Entry<ShelterResponse>> shelters;
+    private final Map<String, Entry<ShelterPageResponse>> pages;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private final Timer entryAge;
+    private final Timer invalidationLag;
+    // Bumped on every invalidation so a load that raced with one isn't cached
+    private long generation;
+
+    public ShelterCache(@Value("${shelters.cache.max-size:10000}") int maxSize,
+                        @Value("${shelters.cache.ttl-ms:300000}") long ttlMs,
+                        MeterRegistry meterRegistry) {
+        this.ttlMs = ttlMs;
+        this.shelters = lru(maxSize);
+        this.pages = lru(Math.max(1, maxSize / 10));
+        this.hits = Counter.builder("shelters.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("shelters.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.invalidations = Counter.builder("shelters.cache.invalidations").register(meterRegistry);
+        this.entryAge = Timer.builder("shelters.cache.entry.age").register(meterRegistry);
+        this.invalidationLag = Timer.builder("shelters.cache.invalidation.lag").register(meterRegistry);
+        Gauge.builder("shelters.cache.size", this, cache -> cache.size()).register(meterRegistry);
+        Gauge.builder("shelters.cache.hit.ratio", this, cache -> cache.hitRatio()).register(meterRegistry);
+    }
+
+    public ShelterResponse getShelter(Long id, Supplier<ShelterResponse> loader) {
+        return get(shelters, id, loader);
+    }
+
+    // Hits are answered from memory and only the misses go to the loader, in one call
+    public Map<Long, ShelterResponse> getShelters(Collection<Long> ids, Function<Collection<Long>, List<ShelterResponse>> loader) {
+        Map<Long, ShelterResponse> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long startGeneration;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            for (Long id : ids) {
+                Entry<ShelterResponse> cached = shelters.get(id);
+                long age = cached == null ? 0 : now - cached.loadedAt();
+                if (cached != null && age < ttlMs) {
+                    hits.increment();
+                    entryAge.record(Duration.ofMillis(age));
+                    found.put(id, cached.value());
+                } else {
+                    misses.increment();
+                    missing.add(id);
+                }
+            }
+            startGeneration = generation;
+        }
+        if (missing.isEmpty()) return found;
+        long loadedAt = System.currentTimeMillis();
+        List<ShelterResponse> loaded = loader.apply(missing);
+        synchronized (this) {
+            for (ShelterResponse shelter : loaded) {
+                found.put(shelter.getId(), shelter);
+                if (generation == startGeneration) {
+                    shelters.put(shelter.getId(), new Entry<>(shelter, loadedAt));
+                }
+            }
+        }
+        return found;
+    }
+
+    public ShelterPageResponse getPage(String key, Supplier<ShelterPageResponse> loader) {
+        return get(pages, key, loader);
+    }
+
+    // Any change can move a shelter between pages, so pages are dropped wholesale
+    public synchronized void invalidate(Long shelterId) {
+        generation++;
+        shelters.remove(shelterId);
+        pages.clear();
+        invalidations.increment();
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        shelters.clear();
+        pages.clear();
+        invalidations.increment();
+    }
+
+    public void recordInvalidationLag(long sentAtMillis) {
+        invalidationLag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - sentAtMillis)));
+    }
+
+    private <K, V> V get(Map<K, Entry<V>> entries, K key, Supplier<V> loader) {
+        long startGeneration;
+        synchronized (this) {
+            Entry<V> cached = entries.get(key);
+            long age = cached == null ? 0 : System.currentTimeMillis() - cached.loadedAt();
+            if (cached != null && age < ttlMs) {
+                hits.increment();
+                entryAge.record(Duration.ofMillis(age));
+                return cached.value();
+            }
+            misses.increment();
+            startGeneration = generation;
+        }
+        // Loaded outside the lock; failures (e.g. 404) propagate and aren't cached
+        long loadedAt = System.currentTimeMillis();
+        V value = loader.get();
+        synchronized (this) {
+            if (generation == startGeneration) {
+                entries.put(key, new Entry<>(value, loadedAt));
+            }
+        }
+        return value;
+    }
+
+    private synchronized int size() {
+        return shelters.size() + pages.size();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static <K, V> Map<K, V> lru(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
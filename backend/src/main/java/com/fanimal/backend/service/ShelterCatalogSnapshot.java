@@ -0,0 +1,172 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterPageResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+// The default catalog page (what every anonymous visitor loads first) kept as ready JSON and gzip bytes
+@Component
+public class ShelterCatalogSnapshot {
+
+    private final ShelterService shelterService;
+    private final ObjectMapper objectMapper;
+    private final boolean asyncRebuild;
+    private final ExecutorService executor;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final Timer buildTimer;
+    private volatile Snapshot current;
+
+    public ShelterCatalogSnapshot(ShelterService shelterService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${shelters.snapshot.async-rebuild:true}") boolean asyncRebuild,
+                                  MeterRegistry meterRegistry) {
+        this.shelterService = shelterService;
+        this.objectMapper = objectMapper;
+        this.asyncRebuild = asyncRebuild;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shelter-catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.buildTimer = Timer.builder("shelters.snapshot.build").register(meterRegistry);
+        Gauge.builder("shelters.snapshot.bytes", this, snapshot -> snapshot.current == null ? 0 : snapshot.current.json().length)
+                .register(meterRegistry);
+        Gauge.builder("shelters.snapshot.version", this, snapshot -> snapshot.current == null ? 0 : snapshot.current.version())
+                .register(meterRegistry);
+    }
+
+    public Snapshot get() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            rebuild();
+            snapshot = current;
+        }
+        return snapshot;
+    }
+
+    @EventListener
+    public void onShelterChanged(ShelterChangedEvent event) {
+        if (!asyncRebuild) {
+            rebuild();
+            return;
+        }
+        // Writes that land while a rebuild is queued ride along with it; one landing mid-build queues another
+        if (rebuildQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    System.out.println("Failed to rebuild shelter catalog snapshot: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        buildTimer.record(() -> {
+            ShelterPageResponse page = shelterService.findPage(ShelterService.SORT_BY_NAME, null, ShelterService.DEFAULT_PAGE_SIZE);
+            byte[] json = serialize(page);
+            String hash = hash(json);
+            long version = current == null ? 1 : current.version() + 1;
+            current = new Snapshot(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"", page.getNextCursor(), version);
+        });
+    }
+
+    // Catches shelter changes made on other replicas, which never reach this node as events
+    @Scheduled(fixedDelayString = "${shelters.snapshot.refresh-interval-ms:60000}", initialDelayString = "${shelters.snapshot.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            System.out.println("Failed to refresh shelter catalog snapshot: " + e.getMessage());
+        }
+    }
+
+    // Honours q-values, so "gzip;q=0" or "*;q=0" turns gzip off; an explicit gzip entry wins over the wildcard
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Double gzip = null;
+        Double wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (!param.startsWith("q=")) continue;
+                try {
+                    quality = Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    quality = 0;
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = quality;
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        double quality = gzip != null ? gzip : wildcard != null ? wildcard : 0;
+        return quality > 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private byte[] serialize(ShelterPageResponse page) {
+        try {
+            return objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize shelter catalog", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Each encoding is its own representation, so it gets its own strong ETag
+    public record Snapshot(byte[] json, byte[] gzip, String etag, String gzipEtag, String nextCursor, long version) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.fanimal.backend.service;
+
+// Tells the other backend instances that a shelter was created, changed or deleted
+public interface ShelterChangeBroadcaster {
+
+    // A null id means anything may have changed, e.g. after a bulk import
+    void publish(Long shelterId);
+}
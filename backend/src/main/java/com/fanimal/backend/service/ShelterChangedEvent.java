@@ -0,0 +1,6 @@
+package com.fanimal.backend.service;
+
+// Published after a shelter is created, updated or deleted, on this node or (via the broadcaster) another one;
+// a null id means anything may have changed
+public record ShelterChangedEvent(Long shelterId) {
+}
@@ -0,0 +1,142 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.NearbyShelterResponse;
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.model.Shelter;
+import com.fanimal.backend.repository.ShelterRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Fixed lat/lon grid; k-nearest queries walk rings of cells outward from the query point
+@Component
+public class ShelterGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final ShelterRepository shelterRepository;
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, Map<Long, ShelterResponse>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Long> cellByShelter = new ConcurrentHashMap<>();
+
+    public ShelterGeoIndex(ShelterRepository shelterRepository,
+                           @Value("${shelters.geo.cell-degrees:0.1}") double cellDegrees) {
+        this.shelterRepository = shelterRepository;
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180.0 / cellDegrees);
+        this.columns = (int) Math.ceil(360.0 / cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        cells.clear();
+        cellByShelter.clear();
+        List<ShelterResponse> located = shelterRepository.findAllLocated();
+        located.forEach(this::put);
+        System.out.println("Indexed " + located.size() + " shelter locations");
+    }
+
+    public void index(Shelter shelter) {
+        index(ShelterResponse.fromEntity(shelter));
+    }
+
+    public synchronized void index(ShelterResponse shelter) {
+        remove(shelter.getId());
+        if (shelter.getLatitude() != null && shelter.getLongitude() != null) {
+            put(shelter);
+        }
+    }
+
+    public synchronized void remove(Long shelterId) {
+        Long cell = cellByShelter.remove(shelterId);
+        if (cell == null) return;
+        cells.computeIfPresent(cell, (key, shelters) -> {
+            shelters.remove(shelterId);
+            return shelters.isEmpty() ? null : shelters;
+        });
+    }
+
+    public List<NearbyShelterResponse> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        int row = row(latitude);
+        int column = column(longitude);
+        // Longitude cells narrow towards the poles, so size the walk for the worst latitude within the radius
+        double worstLatitude = Math.min(89.9, Math.abs(latitude) + radiusKm / KM_PER_DEGREE);
+        double cellKm = cellDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(worstLatitude));
+        int maxRowRing = (int) Math.ceil(radiusKm / (cellDegrees * KM_PER_DEGREE)) + 1;
+        int maxColumnRing = Math.min((columns - 1) / 2, (int) Math.ceil(radiusKm / cellKm) + 1);
+        int maxRing = Math.max(maxRowRing, maxColumnRing);
+
+        PriorityQueue<NearbyShelterResponse> best = new PriorityQueue<>(
+                Comparator.comparingDouble(NearbyShelterResponse::getDistanceKm).reversed());
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int dr = -Math.min(ring, maxRowRing); dr <= Math.min(ring, maxRowRing); dr++) {
+                int r = row + dr;
+                if (r < 0 || r >= rows) continue;
+                boolean edgeRow = Math.abs(dr) == ring;
+                // Interior rows of the ring only contribute their two edge columns
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int dc = -Math.min(ring, maxColumnRing); dc <= Math.min(ring, maxColumnRing); dc += step) {
+                    if (!edgeRow && Math.abs(dc) != ring) continue;
+                    collect(cellKey(r, Math.floorMod(column + dc, columns)), latitude, longitude, radiusKm, limit, best);
+                }
+            }
+            // Anything in the next ring is at least `ring` whole cells away
+            if (best.size() == limit && best.peek().getDistanceKm() <= ring * Math.min(cellKm, cellDegrees * KM_PER_DEGREE)) {
+                break;
+            }
+        }
+        List<NearbyShelterResponse> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(NearbyShelterResponse::getDistanceKm)
+                .thenComparing(nearby -> nearby.getShelter().getId()));
+        return result;
+    }
+
+    private void collect(long cell, double latitude, double longitude, double radiusKm, int limit,
+                         PriorityQueue<NearbyShelterResponse> best) {
+        Map<Long, ShelterResponse> shelters = cells.get(cell);
+        if (shelters == null) return;
+        for (ShelterResponse shelter : shelters.values()) {
+            double distance = distanceKm(latitude, longitude, shelter.getLatitude(), shelter.getLongitude());
+            if (distance > radiusKm) continue;
+            if (best.size() < limit) {
+                best.add(new NearbyShelterResponse(shelter, distance));
+            } else if (distance < best.peek().getDistanceKm()) {
+                best.poll();
+                best.add(new NearbyShelterResponse(shelter, distance));
+            }
+        }
+    }
+
+    private void put(ShelterResponse shelter) {
+        long cell = cellKey(row(shelter.getLatitude()), column(shelter.getLongitude()));
+        cells.computeIfAbsent(cell, key -> new ConcurrentHashMap<>()).put(shelter.getId(), shelter);
+        cellByShelter.put(shelter.getId(), cell);
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((latitude + 90.0) / cellDegrees));
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / cellDegrees), columns);
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,290 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterImportError;
+import com.fanimal.backend.dto.shelter.ShelterImportResponse;
+import com.fanimal.backend.dto.shelter.ShelterRequest;
+import com.fanimal.backend.model.Shelter;
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.UserRepository;
+import com.fanimal.backend.util.CsvReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Admin bulk import: rows are streamed, validated like ShelterRequest and inserted as multi-row INSERTs
+@Service
+@RequiredArgsConstructor
+public class ShelterImportService {
+
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+    public static final int BATCH_SIZE = 500;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT = "INSERT INTO shelters (name, description, address, latitude, longitude, owner_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String MORE_VALUES = ", (?, ?, ?, ?, ?, ?)";
+    private static final List<String> CSV_COLUMNS = List.of("name", "description", "address", "latitude", "longitude");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ShelterSearchIndex shelterSearchIndex;
+    private final ShelterGeoIndex shelterGeoIndex;
+    private final ShelterSuggestIndex shelterSuggestIndex;
+    private final ShelterCache shelterCache;
+    private final ShelterChangeBroadcaster shelterChangeBroadcaster;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ShelterImportResponse importShelters(InputStream body, String contentType, UserDetails userDetails) throws IOException {
+        MediaType mediaType = parseMediaType(contentType);
+        User owner = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset));
+        ImportJob job = new ImportJob(owner.getId());
+        try {
+            if (TEXT_CSV.isCompatibleWith(mediaType)) {
+                readCsv(reader, job);
+            } else {
+                readNdjson(reader, job);
+            }
+            job.flush();
+        } finally {
+            if (job.imported > 0) {
+                // One cluster-wide invalidation instead of one per row
+                shelterCache.invalidateAll();
+                shelterChangeBroadcaster.publish(null);
+                eventPublisher.publishEvent(new ShelterChangedEvent(null));
+            }
+        }
+        System.out.println("Imported " + job.imported + " shelters, " + job.failed + " rows failed");
+        return new ShelterImportResponse(job.imported, job.failed, job.errors);
+    }
+
+    private void readCsv(BufferedReader reader, ImportJob job) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (CsvReader.MalformedCsvException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header is malformed: " + e.getMessage());
+        }
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header is required");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS.subList(0, 3))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must include name, description and address");
+        }
+        while (true) {
+            List<String> row;
+            try {
+                row = csv.next();
+            } catch (CsvReader.MalformedCsvException e) {
+                // The open quote swallowed the rest of the input, so there are no rows left to read
+                job.reject(csv.getLine(), e.getMessage());
+                return;
+            }
+            if (row == null) return;
+            if (row.size() == 1 && row.get(0).isBlank()) continue;
+            try {
+                ShelterRequest request = new ShelterRequest();
+                request.setName(column(row, columns, "name"));
+                request.setDescription(column(row, columns, "description"));
+                request.setAddress(column(row, columns, "address"));
+                request.setLatitude(parseCoordinate(column(row, columns, "latitude"), "Latitude"));
+                request.setLongitude(parseCoordinate(column(row, columns, "longitude"), "Longitude"));
+                job.add(csv.getLine(), request);
+            } catch (IllegalArgumentException e) {
+                job.reject(csv.getLine(), e.getMessage());
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportJob job) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            try {
+                ShelterRequest request = objectMapper.readValue(line, ShelterRequest.class);
+                if (request == null) {
+                    job.reject(lineNumber, "Expected a JSON object");
+                    continue;
+                }
+                job.add(lineNumber, request);
+            } catch (JsonProcessingException e) {
+                job.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static String column(List<String> row, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= row.size()) return null;
+        String value = row.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double parseCoordinate(String value, String label) {
+        if (value == null) return null;
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + " must be a number");
+        }
+    }
+
+    private static MediaType parseMediaType(String contentType) {
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (TEXT_CSV.isCompatibleWith(mediaType) || APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+                return mediaType;
+            }
+        } catch (InvalidMediaTypeException | IllegalArgumentException ignored) {
+            // Reported below
+        }
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Import accepts text/csv or application/x-ndjson");
+    }
+
+    private class ImportJob {
+
+        private final Long ownerId;
+        private final List<PendingRow> pending = new ArrayList<>(BATCH_SIZE);
+        private final List<ShelterImportError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        ImportJob(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        void add(long line, ShelterRequest request) {
+            Set<ConstraintViolation<ShelterRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+                reject(line, "Latitude and longitude must be provided together");
+                return;
+            }
+            pending.add(new PendingRow(line, request));
+            if (pending.size() >= BATCH_SIZE) flush();
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ShelterImportError(line, message));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) return;
+            List<Shelter> inserted = new ArrayList<>(pending.size());
+            try {
+                inserted.addAll(insert(pending));
+            } catch (DataAccessException e) {
+                // Retry row by row so one bad row only costs itself
+                for (PendingRow row : pending) {
+                    try {
+                        inserted.addAll(insert(List.of(row)));
+                    } catch (DataAccessException rowError) {
+                        System.out.println("Import row " + row.line() + " failed: " + rowError.getMostSpecificCause().getMessage());
+                        reject(row.line(), rowErrorMessage(rowError));
+                    }
+                }
+            }
+            pending.clear();
+            imported += inserted.size();
+            shelterSearchIndex.indexAll(inserted);
+            inserted.forEach(shelter -> {
+                shelterGeoIndex.index(shelter);
+                shelterSuggestIndex.index(shelter);
+            });
+        }
+
+        // The statement pgjdbc's reWriteBatchedInserts would build, written here so that driver flag doesn't
+        // change batching for every other insert in the application
+        private List<Shelter> insert(List<PendingRow> rows) {
+            String sql = INSERT + MORE_VALUES.repeat(rows.size() - 1);
+            KeyHolder keys = new GeneratedKeyHolder();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"});
+                int parameter = 1;
+                for (PendingRow row : rows) {
+                    ShelterRequest request = row.request();
+                    statement.setString(parameter++, request.getName());
+                    statement.setString(parameter++, request.getDescription());
+                    statement.setString(parameter++, request.getAddress());
+                    statement.setObject(parameter++, request.getLatitude(), Types.DOUBLE);
+                    statement.setObject(parameter++, request.getLongitude(), Types.DOUBLE);
+                    statement.setLong(parameter++, ownerId);
+                }
+                return statement;
+            }, keys));
+            List<Map<String, Object>> generated = keys.getKeyList();
+            if (generated.size() != rows.size()) {
+                throw new IllegalStateException("Expected " + rows.size() + " generated ids, got " + generated.size());
+            }
+            List<Shelter> shelters = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                ShelterRequest request = rows.get(i).request();
+                shelters.add(Shelter.builder()
+                        .id(((Number) generated.get(i).values().iterator().next()).longValue())
+                        .name(request.getName())
+                        .description(request.getDescription())
+                        .address(request.getAddress())
+                        .latitude(request.getLatitude())
+                        .longitude(request.getLongitude())
+                        .build());
+            }
+            return shelters;
+        }
+    }
+
+    // The raw database text stays in the log; clients get one stable message per kind of failure
+    static String rowErrorMessage(DataAccessException e) {
+        if (e instanceof DuplicateKeyException) return "Shelter already exists";
+        if (e instanceof DataIntegrityViolationException) return "Row violates a database constraint, such as a column length";
+        return "Row could not be stored";
+    }
+
+    private record PendingRow(long line, ShelterRequest request) {
+    }
+}
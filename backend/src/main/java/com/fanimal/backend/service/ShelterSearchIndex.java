@@ -0,0 +1,21 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.model.Shelter;
+
+import java.util.List;
+
+// Postgres full-text search in production, an in-process inverted index under the H2 test profile
+public interface ShelterSearchIndex {
+
+    void index(Shelter shelter);
+
+    default void indexAll(List<Shelter> shelters) {
+        shelters.forEach(this::index);
+    }
+
+    void remove(Long shelterId);
+
+    // Best match first; ties are broken by id so pages are stable
+    List<ShelterResponse> search(String query, int offset, int limit);
+}
@@ -1,14 +1,23 @@
 package com.fanimal.backend.service;
 
+import com.fanimal.backend.dto.shelter.NearbyShelterResponse;
+import com.fanimal.backend.dto.shelter.ShelterLookupResponse;
+import com.fanimal.backend.dto.shelter.ShelterPageResponse;
 import com.fanimal.backend.dto.shelter.ShelterRequest;
 import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.dto.shelter.ShelterRevenueResponse;
+import com.fanimal.backend.dto.shelter.ShelterSuggestionResponse;
+import com.fanimal.backend.dto.shelter.ShelterSupportResponse;
 import com.fanimal.backend.dto.shelter.ShelterUpdateRequest;
 import com.fanimal.backend.model.Shelter;
 import com.fanimal.backend.model.User;
 import com.fanimal.backend.repository.ShelterRepository;
 import com.fanimal.backend.repository.UserRepository;
+import com.fanimal.backend.util.CursorCodec;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,14 +25,37 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class ShelterService {
 
+    public static final String SORT_BY_NAME = "name";
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_RANK = "rank";
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final double DEFAULT_RADIUS_KM = 25.0;
+    public static final double MAX_RADIUS_KM = 500.0;
+    public static final int DEFAULT_NEARBY_LIMIT = 10;
+    public static final int DEFAULT_SUGGEST_LIMIT = 8;
+    public static final int MAX_SUGGEST_LIMIT = 20;
+    public static final int MAX_LOOKUP_IDS = 500;
+    public static final int DEFAULT_LEADERBOARD_SIZE = 10;
+
     private final ShelterRepository shelterRepository;
     private final UserRepository userRepository;
+    private final ShelterSearchIndex shelterSearchIndex;
+    private final ShelterGeoIndex shelterGeoIndex;
+    private final ShelterSuggestIndex shelterSuggestIndex;
+    private final ShelterCache shelterCache;
+    private final ShelterChangeBroadcaster shelterChangeBroadcaster;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShelterSupportCounters shelterSupportCounters;
 
     public ShelterResponse create(ShelterRequest shelterRequest, UserDetails userDetails) {
         User owner = userRepository.findByUsername(userDetails.getUsername())
@@ -32,26 +64,115 @@ public class ShelterService {
                 .name(shelterRequest.getName())
                 .description(shelterRequest.getDescription())
                 .address(shelterRequest.getAddress())
+                .latitude(shelterRequest.getLatitude())
+                .longitude(shelterRequest.getLongitude())
                 .owner(owner)
                 .build();
+        requireBothCoordinates(shelter);
         shelterRepository.save(shelter);
+        shelterSearchIndex.index(shelter);
+        shelterGeoIndex.index(shelter);
+        shelterSuggestIndex.index(shelter);
+        shelterCache.invalidate(shelter.getId());
+        shelterChangeBroadcaster.publish(shelter.getId());
+        eventPublisher.publishEvent(new ShelterChangedEvent(shelter.getId()));
         return ShelterResponse.fromEntity(shelter);
     }
 
-    public List<ShelterResponse> findAll() {
-        return shelterRepository.findAll().stream()
-                .map(ShelterResponse::fromEntity)
-                .toList();
+    public ShelterPageResponse findPage(String sort, String cursor, int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be positive");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        return shelterCache.getPage(sort + " " + pageSize + " " + cursor, () -> loadPage(sort, cursor, pageSize));
+    }
+
+    public ShelterPageResponse search(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query is required");
+        }
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be positive");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        // Ranked results can't be keyset-paged, so the cursor carries the offset
+        int offset = cursor == null ? 0 : parseOffset(decodeCursor(cursor, SORT_BY_RANK, 2).get(1));
+        List<ShelterResponse> rows = shelterSearchIndex.search(query.trim(), offset, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new ShelterPageResponse(rows, null);
+        }
+        String nextCursor = CursorCodec.encode(SORT_BY_RANK, String.valueOf(offset + pageSize));
+        return new ShelterPageResponse(List.copyOf(rows.subList(0, pageSize)), nextCursor);
+    }
+
+    public List<NearbyShelterResponse> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Coordinates are out of range");
+        }
+        if (radiusKm <= 0 || limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Radius and limit must be positive");
+        }
+        return shelterGeoIndex.nearest(latitude, longitude, Math.min(radiusKm, MAX_RADIUS_KM), Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    public List<ShelterSuggestionResponse> suggest(String prefix, int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
+        }
+        return shelterSuggestIndex.suggest(prefix, Math.min(limit, MAX_SUGGEST_LIMIT));
     }
 
     public ShelterResponse findById(Long id) {
-        Shelter shelter = shelterRepository.findById(id)
+        return shelterCache.getShelter(id, () -> shelterRepository.findResponseById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Shelter not found")));
+    }
+
+    public List<ShelterLookupResponse> findAllById(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one id is required");
+        }
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_LOOKUP_IDS + " ids per lookup");
+        }
+        Map<Long, ShelterResponse> shelters = shelterCache.getShelters(new LinkedHashSet<>(ids), shelterRepository::findResponsesByIdIn);
+        return ids.stream()
+                .map(id -> new ShelterLookupResponse(id, shelters.containsKey(id), shelters.get(id)))
+                .toList();
+    }
+
+    public ShelterSupportResponse findSupport(Long id) {
+        ShelterResponse shelter = findById(id);
+        ShelterSupportCounters.Totals totals = shelterSupportCounters.get(id);
+        return new ShelterSupportResponse(shelter, totals.subscribers());
+    }
+
+    public ShelterRevenueResponse findRevenue(Long id, UserDetails userDetails) {
+        Shelter shelter = shelterRepository.findWithOwnerById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Shelter not found"));
-        return ShelterResponse.fromEntity(shelter);
+        if (!isOwnerOrAdmin(shelter, userDetails)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+        ShelterSupportCounters.Totals totals = shelterSupportCounters.get(id);
+        return new ShelterRevenueResponse(id, totals.subscribers(), totals.monthlyRevenue());
+    }
+
+    // Ranked in memory; shelter details come from the cache, so no aggregate query runs here
+    public List<ShelterSupportResponse> findLeaderboard(int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
+        }
+        List<ShelterSupportCounters.Totals> top = shelterSupportCounters.top(Math.min(limit, MAX_PAGE_SIZE));
+        if (top.isEmpty()) return List.of();
+        Map<Long, ShelterResponse> shelters = shelterCache.getShelters(
+                top.stream().map(ShelterSupportCounters.Totals::shelterId).toList(), shelterRepository::findResponsesByIdIn);
+        return top.stream()
+                .filter(totals -> shelters.containsKey(totals.shelterId()))
+                .map(totals -> new ShelterSupportResponse(shelters.get(totals.shelterId()), totals.subscribers()))
+                .toList();
     }
 
     public ShelterResponse update(Long id, ShelterUpdateRequest shelterUpdateRequest, UserDetails userDetails) {
-        Shelter shelter = shelterRepository.findById(id)
+        Shelter shelter = shelterRepository.findWithOwnerById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Shelter not found"));
         if (!isOwnerOrAdmin(shelter, userDetails)) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
@@ -59,17 +180,93 @@ public class ShelterService {
         shelter.setName(shelterUpdateRequest.getName());
         shelter.setDescription(shelterUpdateRequest.getDescription());
         shelter.setAddress(shelterUpdateRequest.getAddress());
+        shelter.setLatitude(shelterUpdateRequest.getLatitude());
+        shelter.setLongitude(shelterUpdateRequest.getLongitude());
+        requireBothCoordinates(shelter);
         shelterRepository.save(shelter);
+        shelterSearchIndex.index(shelter);
+        shelterGeoIndex.index(shelter);
+        shelterSuggestIndex.index(shelter);
+        shelterCache.invalidate(shelter.getId());
+        shelterChangeBroadcaster.publish(shelter.getId());
+        eventPublisher.publishEvent(new ShelterChangedEvent(shelter.getId()));
         return ShelterResponse.fromEntity(shelter);
     }
 
     public void delete(Long id, UserDetails userDetails) {
-        Shelter shelter = shelterRepository.findById(id)
+        Shelter shelter = shelterRepository.findWithOwnerById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Shelter not found"));
         if (!isOwnerOrAdmin(shelter, userDetails)) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
         }
         shelterRepository.delete(shelter);
+        shelterSearchIndex.remove(shelter.getId());
+        shelterGeoIndex.remove(shelter.getId());
+        shelterSuggestIndex.remove(shelter.getId());
+        shelterCache.invalidate(shelter.getId());
+        shelterChangeBroadcaster.publish(shelter.getId());
+        eventPublisher.publishEvent(new ShelterChangedEvent(shelter.getId()));
+    }
+
+    private void requireBothCoordinates(Shelter shelter) {
+        if ((shelter.getLatitude() == null) != (shelter.getLongitude() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Latitude and longitude must be provided together");
+        }
+    }
+
+    private ShelterPageResponse loadPage(String sort, String cursor, int pageSize) {
+        // One extra row tells us whether there is a next page without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<ShelterResponse> rows = switch (sort) {
+            case SORT_BY_ID -> {
+                if (cursor == null) yield shelterRepository.findPageById(limit);
+                List<String> keys = decodeCursor(cursor, SORT_BY_ID, 2);
+                yield shelterRepository.findPageByIdAfter(parseId(keys.get(1)), limit);
+            }
+            case SORT_BY_NAME -> {
+                if (cursor == null) yield shelterRepository.findPageByName(limit);
+                List<String> keys = decodeCursor(cursor, SORT_BY_NAME, 3);
+                yield shelterRepository.findPageByNameAfter(keys.get(2), parseId(keys.get(1)), limit);
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sort must be 'name' or 'id'");
+        };
+        if (rows.size() <= pageSize) {
+            return new ShelterPageResponse(rows, null);
+        }
+        List<ShelterResponse> items = rows.subList(0, pageSize);
+        ShelterResponse last = items.get(pageSize - 1);
+        String nextCursor = SORT_BY_ID.equals(sort)
+                ? CursorCodec.encode(SORT_BY_ID, String.valueOf(last.getId()))
+                : CursorCodec.encode(SORT_BY_NAME, String.valueOf(last.getId()), last.getName());
+        return new ShelterPageResponse(List.copyOf(items), nextCursor);
+    }
+
+    private List<String> decodeCursor(String cursor, String sort, int parts) {
+        try {
+            List<String> keys = CursorCodec.decode(cursor, parts);
+            if (keys.get(0).equals(sort)) return keys;
+        } catch (IllegalArgumentException ignored) {
+            // Reported below
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    private Long parseId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private int parseOffset(String offset) {
+        try {
+            int value = Integer.parseInt(offset);
+            if (value >= 0) return value;
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
     }
 
     private boolean isOwnerOrAdmin(Shelter shelter, UserDetails userDetails) {
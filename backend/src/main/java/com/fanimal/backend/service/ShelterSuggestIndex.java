@@ -0,0 +1,85 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.dto.shelter.ShelterSuggestionResponse;
+import com.fanimal.backend.model.Shelter;
+import com.fanimal.backend.repository.ShelterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Sorted prefix index over normalized shelter names; every word start is a key so "tails" finds "Happy Tails"
+@Component
+@RequiredArgsConstructor
+public class ShelterSuggestIndex {
+
+    // Sorts before any normalized character, so "abc" + SEPARATOR + id stays inside the "abc" prefix range
+    private static final char SEPARATOR = '\0';
+
+    private final ShelterRepository shelterRepository;
+    private final NavigableMap<String, ShelterSuggestionResponse> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysByShelter = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        entries.clear();
+        keysByShelter.clear();
+        List<ShelterSuggestionResponse> suggestions = shelterRepository.findAllSuggestions();
+        suggestions.forEach(this::put);
+        System.out.println("Indexed " + suggestions.size() + " shelter names for suggestions");
+    }
+
+    public synchronized void index(Shelter shelter) {
+        index(shelter.getId(), shelter.getName());
+    }
+
+    public synchronized void index(ShelterResponse shelter) {
+        index(shelter.getId(), shelter.getName());
+    }
+
+    private void index(Long shelterId, String name) {
+        remove(shelterId);
+        put(new ShelterSuggestionResponse(shelterId, name));
+    }
+
+    public synchronized void remove(Long shelterId) {
+        List<String> keys = keysByShelter.remove(shelterId);
+        if (keys != null) keys.forEach(entries::remove);
+    }
+
+    public List<ShelterSuggestionResponse> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) return List.of();
+        Map<Long, ShelterSuggestionResponse> matches = new LinkedHashMap<>();
+        for (ShelterSuggestionResponse suggestion : entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+            matches.putIfAbsent(suggestion.getId(), suggestion);
+            if (matches.size() == limit) break;
+        }
+        return List.copyOf(matches.values());
+    }
+
+    private void put(ShelterSuggestionResponse suggestion) {
+        String name = normalize(suggestion.getName());
+        if (name.isEmpty()) return;
+        List<String> keys = new ArrayList<>();
+        for (int start = 0; start < name.length(); start++) {
+            if (start == 0 || name.charAt(start - 1) == ' ') {
+                keys.add(name.substring(start) + SEPARATOR + suggestion.getId());
+            }
+        }
+        keys.forEach(key -> entries.put(key, suggestion));
+        keysByShelter.put(suggestion.getId(), keys);
+    }
+
+    static String normalize(String text) {
+        if (text == null) return "";
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
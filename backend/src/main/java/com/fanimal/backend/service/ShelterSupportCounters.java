@@ -0,0 +1,120 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.subscription.ShelterTierCount;
+import com.fanimal.backend.model.Subscription.SubscriptionStatus;
+import com.fanimal.backend.model.Subscription.Tier;
+import com.fanimal.backend.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+// Per-shelter supporter and monthly revenue totals, moved by status transitions and reconciled against the table
+@Component
+public class ShelterSupportCounters {
+
+    private static final Set<SubscriptionStatus> SUPPORTING = EnumSet.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.TRIALING);
+    private static final Comparator<Totals> RANKING = Comparator.comparingLong(Totals::subscribers).reversed()
+            .thenComparing(Comparator.comparingLong(Totals::revenueCents).reversed())
+            .thenComparing(Totals::shelterId);
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final Counter drift;
+    private final Map<Long, Totals> totals = new HashMap<>();
+    private final NavigableSet<Totals> ranking = new TreeSet<>(RANKING);
+
+    public ShelterSupportCounters(SubscriptionRepository subscriptionRepository, MeterRegistry meterRegistry) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.drift = Counter.builder("shelters.support.reconcile.drift").register(meterRegistry);
+        Gauge.builder("shelters.support.tracked", this, counters -> counters.size()).register(meterRegistry);
+    }
+
+    public static boolean isSupporting(SubscriptionStatus status) {
+        return status != null && SUPPORTING.contains(status);
+    }
+
+    // Call after the change is saved; a null tier/status means the subscription didn't exist before
+    public synchronized void transition(Long shelterId, Tier fromTier, SubscriptionStatus fromStatus,
+                                        Tier toTier, SubscriptionStatus toStatus) {
+        long subscribers = 0;
+        long revenueCents = 0;
+        if (isSupporting(fromStatus) && fromTier != null) {
+            subscribers--;
+            revenueCents -= cents(fromTier);
+        }
+        if (isSupporting(toStatus) && toTier != null) {
+            subscribers++;
+            revenueCents += cents(toTier);
+        }
+        if (subscribers == 0 && revenueCents == 0) return;
+        Totals current = totals.getOrDefault(shelterId, new Totals(shelterId, 0, 0));
+        put(new Totals(shelterId, Math.max(0, current.subscribers() + subscribers), Math.max(0, current.revenueCents() + revenueCents)));
+    }
+
+    public synchronized Totals get(Long shelterId) {
+        return totals.getOrDefault(shelterId, new Totals(shelterId, 0, 0));
+    }
+
+    public synchronized List<Totals> top(int limit) {
+        return ranking.stream().limit(limit).toList();
+    }
+
+    // Catches updates made on other replicas and anything the incremental path missed
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shelters.support.reconcile-interval-ms:60000}", initialDelayString = "${shelters.support.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        Map<Long, Totals> counted = new HashMap<>();
+        for (ShelterTierCount row : subscriptionRepository.countSupportingByShelterAndTier(SUPPORTING)) {
+            Totals current = counted.getOrDefault(row.getShelterId(), new Totals(row.getShelterId(), 0, 0));
+            counted.put(row.getShelterId(), new Totals(row.getShelterId(),
+                    current.subscribers() + row.getCount(),
+                    current.revenueCents() + row.getCount() * cents(row.getTier())));
+        }
+        synchronized (this) {
+            // A transition committed while the query ran may be overwritten here; the next pass corrects it
+            Set<Long> shelterIds = new HashSet<>(totals.keySet());
+            shelterIds.addAll(counted.keySet());
+            int corrected = 0;
+            for (Long shelterId : shelterIds) {
+                Totals actual = counted.get(shelterId);
+                if (!Objects.equals(totals.get(shelterId), actual)) {
+                    corrected++;
+                    put(actual != null ? actual : new Totals(shelterId, 0, 0));
+                }
+            }
+            if (corrected > 0) {
+                drift.increment(corrected);
+                System.out.println("Reconciled support counters for " + corrected + " shelters");
+            }
+        }
+    }
+
+    private void put(Totals updated) {
+        Totals previous = totals.remove(updated.shelterId());
+        if (previous != null) ranking.remove(previous);
+        if (updated.subscribers() == 0 && updated.revenueCents() == 0) return;
+        totals.put(updated.shelterId(), updated);
+        ranking.add(updated);
+    }
+
+    private synchronized int size() {
+        return totals.size();
+    }
+
+    private static long cents(Tier tier) {
+        return tier.getPrice().movePointRight(2).longValueExact();
+    }
+
+    public record Totals(Long shelterId, long subscribers, long revenueCents) {
+
+        public BigDecimal monthlyRevenue() {
+            return BigDecimal.valueOf(revenueCents, 2);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.fanimal.backend.service;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.Customer;
+import com.stripe.model.PaymentMethod;
+import com.stripe.model.Subscription;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.*;
+import org.springframework.stereotype.Component;
+
+// The Stripe calls the subscription flow makes. stripe-java's are static, and static mocks don't reach the
+// virtual threads the flow forks onto, so the service goes through this bean instead
+@Component
+public class StripeGateway {
+
+    public Customer createCustomer(CustomerCreateParams params, RequestOptions options) throws StripeException {
+        return Customer.create(params, options);
+    }
+
+    public void deleteCustomer(Customer customer) throws StripeException {
+        customer.delete();
+    }
+
+    public Customer updateCustomer(Customer customer, CustomerUpdateParams params, RequestOptions options) throws StripeException {
+        return customer.update(params, options);
+    }
+
+    public PaymentMethod retrievePaymentMethod(String paymentMethodId) throws StripeException {
+        return PaymentMethod.retrieve(paymentMethodId);
+    }
+
+    public PaymentMethod attachPaymentMethod(PaymentMethod paymentMethod, PaymentMethodAttachParams params,
+                                             RequestOptions options) throws StripeException {
+        return paymentMethod.attach(params, options);
+    }
+
+    public Subscription createSubscription(SubscriptionCreateParams params, RequestOptions options) throws StripeException {
+        return Subscription.create(params, options);
+    }
+
+    public Subscription cancelSubscription(String subscriptionId) throws StripeException {
+        return Subscription.retrieve(subscriptionId).cancel(SubscriptionCancelParams.builder().build());
+    }
+}
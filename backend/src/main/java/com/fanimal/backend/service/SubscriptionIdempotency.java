@@ -0,0 +1,158 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.subscription.SubscriptionRequest;
+import com.fanimal.backend.dto.subscription.SubscriptionResponse;
+import com.fanimal.backend.model.IdempotencyRecord;
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Completed subscribe results by Idempotency-Key: a bounded LRU in front of the idempotency_keys table
+@Component
+public class SubscriptionIdempotency {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final long retentionMs;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries;
+    private final Counter memoryReplays;
+    private final Counter storedReplays;
+    private final Counter conflicts;
+
+    public SubscriptionIdempotency(@Value("${subscriptions.idempotency.cache-size:10000}") int maxSize,
+                                   @Value("${subscriptions.idempotency.retention-ms:86400000}") long retentionMs,
+                                   IdempotencyRecordRepository idempotencyRecordRepository,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry) {
+        this.retentionMs = retentionMs;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.memoryReplays = Counter.builder("subscriptions.idempotency.replays").tag("source", "memory").register(meterRegistry);
+        this.storedReplays = Counter.builder("subscriptions.idempotency.replays").tag("source", "database").register(meterRegistry);
+        this.conflicts = Counter.builder("subscriptions.idempotency.conflicts").register(meterRegistry);
+    }
+
+    // Memory only, so a replay on the node that served the original costs no query at all
+    public SubscriptionResponse findCached(String username, String key, String requestHash) {
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(cacheKey(username, key));
+        }
+        if (cached == null || isExpired(cached.createdAt())) return null;
+        checkSameRequest(cached.requestHash(), requestHash);
+        memoryReplays.increment();
+        return cached.response();
+    }
+
+    // Falls back to the table for keys first used on another node or before a restart
+    public SubscriptionResponse findStored(User user, String key, String requestHash) {
+        IdempotencyRecord stored = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(user.getId(), key).orElse(null);
+        if (stored == null || isExpired(stored.getCreatedAt().toEpochMilli())) return null;
+        checkSameRequest(stored.getRequestHash(), requestHash);
+        SubscriptionResponse response = read(stored.getResponse());
+        remember(user.getUsername(), key, requestHash, response, stored.getCreatedAt().toEpochMilli());
+        storedReplays.increment();
+        return response;
+    }
+
+    public void record(User user, String key, String requestHash, SubscriptionResponse response) {
+        Instant now = Instant.now();
+        try {
+            idempotencyRecordRepository.save(IdempotencyRecord.builder()
+                    .userId(user.getId())
+                    .idempotencyKey(key)
+                    .requestHash(requestHash)
+                    .response(write(response))
+                    .createdAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent retry recorded the same key first; Stripe gave both the same subscription
+        }
+        remember(user.getUsername(), key, requestHash, response, now.toEpochMilli());
+    }
+
+    // Stripe keeps its own idempotency keys for 24 hours, so replays older than that couldn't be honoured anyway
+    @Scheduled(fixedDelayString = "${subscriptions.idempotency.purge-interval-ms:3600000}", initialDelayString = "${subscriptions.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        synchronized (this) {
+            entries.values().removeIf(entry -> isExpired(entry.createdAt()));
+        }
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(Instant.now().minusMillis(retentionMs));
+        if (deleted > 0) {
+            System.out.println("Purged " + deleted + " expired idempotency keys");
+        }
+    }
+
+    public static String hash(SubscriptionRequest request) {
+        String canonical = request.getShelterId() + "|" + request.getTier() + "|" + request.getPaymentMethodId();
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            conflicts.increment();
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different request");
+        }
+    }
+
+    private synchronized void remember(String username, String key, String requestHash, SubscriptionResponse response, long createdAt) {
+        entries.put(cacheKey(username, key), new Entry(requestHash, response, createdAt));
+    }
+
+    private boolean isExpired(long createdAt) {
+        return System.currentTimeMillis() - createdAt >= retentionMs;
+    }
+
+    private String write(SubscriptionResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize subscription response", e);
+        }
+    }
+
+    private SubscriptionResponse read(String json) {
+        try {
+            return objectMapper.readValue(json, SubscriptionResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read stored subscription response", e);
+        }
+    }
+
+    private static String cacheKey(String username, String key) {
+        return username + '\0' + key;
+    }
+
+    private record Entry(String requestHash, SubscriptionResponse response, long createdAt) {
+    }
+}
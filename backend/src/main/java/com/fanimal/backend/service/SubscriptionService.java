@@ -1,8 +1,10 @@
 package com.fanimal.backend.service;
 
 import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.dto.subscription.SubscriptionPageResponse;
 import com.fanimal.backend.dto.subscription.SubscriptionRequest;
 import com.fanimal.backend.dto.subscription.SubscriptionResponse;
+import com.fanimal.backend.dto.subscription.SubscriptionSummaryResponse;
 import com.fanimal.backend.dto.user.UserResponse;
 import com.fanimal.backend.model.Shelter;
 import com.fanimal.backend.model.Subscription.SubscriptionStatus;
@@ -10,125 +12,221 @@ import com.fanimal.backend.model.User;
 import com.fanimal.backend.repository.ShelterRepository;
 import com.fanimal.backend.repository.SubscriptionRepository;
 import com.fanimal.backend.repository.UserRepository;
+import com.fanimal.backend.util.CursorCodec;
+import com.fanimal.backend.util.SingleFlight;
+import com.fanimal.backend.util.TaskScope;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
 import com.stripe.model.PaymentMethod;
 import com.stripe.model.Subscription;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 @Service
 @RequiredArgsConstructor
 public class SubscriptionService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final SubscriptionRepository subscriptionRepository;
     private final UserRepository userRepository;
     private final ShelterRepository shelterRepository;
+    private final ShelterSupportCounters shelterSupportCounters;
+    private final SubscriptionIdempotency subscriptionIdempotency;
+    private final MeterRegistry meterRegistry;
+    private final StripeGateway stripeGateway;
+    private final SingleFlight<Long, String> customerCreations = new SingleFlight<>();
 
-    // Create or retrieve Stripe Customer
-    public Customer getOrCreateCustomer(UserDetails userDetails) throws StripeException {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        if (user.getStripeCustomerId() != null) {
-            return Customer.retrieve(user.getStripeCustomerId());
+    // The flow only needs the id, so a stored customer is used as-is instead of being fetched from Stripe
+    public Customer getOrCreateCustomer(User user, RequestOptions options) throws StripeException {
+        String customerId = user.getStripeCustomerId();
+        if (customerId == null) {
+            customerId = unwrap(() -> customerCreations.run(user.getId(), () -> createCustomer(user, options)));
+            user.setStripeCustomerId(customerId);
         }
+        Customer customer = new Customer();
+        customer.setId(customerId);
+        return customer;
+    }
+
+    private String createCustomer(User user, RequestOptions options) throws StripeException {
+        // A flight that finished just before this one started has already stored an id
+        String stored = userRepository.findStripeCustomerIdById(user.getId()).orElse(null);
+        if (stored != null) return stored;
         CustomerCreateParams params = CustomerCreateParams.builder()
                 .setEmail(user.getEmail())
                 .setName(user.getName())
                 .build();
-        Customer customer = Customer.create(params);
-        user.setStripeCustomerId(customer.getId());
-        userRepository.save(user);
-        return customer;
+        Customer created = stripeGateway.createCustomer(params, options);
+        if (userRepository.claimStripeCustomerId(user.getId(), created.getId()) == 1) {
+            return created.getId();
+        }
+        // Another node stored its customer first: use that one and drop ours so it isn't left orphaned
+        String winner = userRepository.findStripeCustomerIdById(user.getId())
+                .orElseThrow(() -> new IllegalStateException("Stripe customer claim failed for user " + user.getId()));
+        try {
+            stripeGateway.deleteCustomer(created);
+        } catch (StripeException e) {
+            System.out.println("Unable to delete duplicate Stripe customer " + created.getId() + ": " + e.getMessage());
+        }
+        return winner;
     }
 
-    public SubscriptionResponse subscribe(UserDetails userDetails, SubscriptionRequest subscriptionRequest) throws StripeException {
-        // Fetch user and shelter
+    // Independent steps run side by side on virtual threads:
+    // shelter -> (customer, payment method) -> attach -> (default payment method, subscription) -> save
+    // With an Idempotency-Key a retried request replays the first result instead of calling Stripe again
+    public SubscriptionResponse subscribe(UserDetails userDetails, SubscriptionRequest subscriptionRequest, String idempotencyKey) throws StripeException {
+        String requestHash = null;
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > SubscriptionIdempotency.MAX_KEY_LENGTH) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Idempotency-Key must be 1 to " + SubscriptionIdempotency.MAX_KEY_LENGTH + " characters");
+            }
+            requestHash = SubscriptionIdempotency.hash(subscriptionRequest);
+            SubscriptionResponse replay = subscriptionIdempotency.findCached(userDetails.getUsername(), idempotencyKey, requestHash);
+            if (replay != null) return replay;
+        }
         User user = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-
-        Shelter shelter = shelterRepository.findById(subscriptionRequest.getShelterId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Shelter not found"));
-        // Get or create Stripe customer
-        Customer customer = getOrCreateCustomer(userDetails);
-        // Attach payment method to customer
-        PaymentMethod pm = PaymentMethod.retrieve(subscriptionRequest.getPaymentMethodId());
-        pm.attach(PaymentMethodAttachParams.builder()
-                .setCustomer(customer.getId())
-                .build());
-        // Set default payment method for invoices
-        customer.update(CustomerUpdateParams.builder()
-                .setInvoiceSettings(CustomerUpdateParams.InvoiceSettings.builder()
-                        .setDefaultPaymentMethod(subscriptionRequest.getPaymentMethodId())
-                        .build())
-                .build());
-        // Determine Stripe price ID based on selected tier
-        String priceId = switch (subscriptionRequest.getTier()) {
-            case BASIC -> shelter.getStripeBasicPriceId();
-            case STANDARD -> shelter.getStripeStandardPriceId();
-            case PREMIUM -> shelter.getStripePremiumPriceId();
-        };
-        // Create Stripe subscription
-        SubscriptionCreateParams subParams = SubscriptionCreateParams.builder()
-                .setCustomer(customer.getId())
-                .addItem(SubscriptionCreateParams.Item.builder()
-                        .setPrice(priceId)
-                        .build())
-                .setPaymentBehavior(SubscriptionCreateParams.PaymentBehavior.DEFAULT_INCOMPLETE)
-                .setPaymentSettings(
-                        SubscriptionCreateParams.PaymentSettings.builder()
-                                .setSaveDefaultPaymentMethod(
-                                        SubscriptionCreateParams.PaymentSettings.SaveDefaultPaymentMethod.ON_SUBSCRIPTION)
-                                .build())
-                .addExpand("latest_invoice.payment_intent") // important to get client secret
-                .build();
-        Subscription stripeSubscription = Subscription.create(subParams);
-        // Extract client secret for frontend payment confirmation
-        var paymentIntent = (com.stripe.model.PaymentIntent)
-                stripeSubscription.getLatestInvoiceObject().getPaymentIntentObject();
-        String clientSecret = paymentIntent != null ? paymentIntent.getClientSecret() : null;
-        // Save subscription locally
-        com.fanimal.backend.model.Subscription subscription = com.fanimal.backend.model.Subscription.builder()
-                .user(user)
-                .shelter(shelter)
-                .tier(subscriptionRequest.getTier())
-                .startDate(LocalDate.now())
-                .stripeSubscriptionId(stripeSubscription.getId())
-                .status(com.fanimal.backend.model.Subscription.SubscriptionStatus.valueOf(stripeSubscription.getStatus().toUpperCase()))
-                .build();
-        subscriptionRepository.save(subscription);
-        // Return subscription response
-        return SubscriptionResponse.builder()
-                .id(subscription.getId())
-                .startDate(subscription.getStartDate())
-                .tier(subscription.getTier())
-                .shelter(ShelterResponse.fromEntity(shelter))
-                .user(UserResponse.fromEntity(user))
-                .status(subscription.getStatus())
-                .build();
+        if (idempotencyKey != null) {
+            SubscriptionResponse replay = subscriptionIdempotency.findStored(user, idempotencyKey, requestHash);
+            if (replay != null) return replay;
+        }
+        Timer.Sample total = Timer.start(meterRegistry);
+        try (TaskScope scope = new TaskScope()) {
+            // Validate the shelter before anything is written to Stripe
+            Shelter shelter = timed("shelter", () -> shelterRepository.findById(subscriptionRequest.getShelterId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Shelter not found")));
+            // Only the read is forked: a fork is cancelled when its sibling fails, and a cancelled customer
+            // creation could leave a customer in Stripe that no user points at
+            Future<PaymentMethod> paymentMethodStep = scope.fork(() -> timed("payment_method",
+                    () -> stripeGateway.retrievePaymentMethod(subscriptionRequest.getPaymentMethodId())));
+            Customer customer = timed("customer",
+                    () -> getOrCreateCustomer(user, stripeOptions(user, idempotencyKey, "customer")));
+            await(scope);
+            PaymentMethod pm = paymentMethodStep.resultNow();
+            // Attach payment method to customer
+            timed("attach", () -> stripeGateway.attachPaymentMethod(pm, PaymentMethodAttachParams.builder()
+                    .setCustomer(customer.getId())
+                    .build(), stripeOptions(user, idempotencyKey, "attach")));
+            // Determine Stripe price ID based on selected tier
+            String priceId = switch (subscriptionRequest.getTier()) {
+                case BASIC -> shelter.getStripeBasicPriceId();
+                case STANDARD -> shelter.getStripeStandardPriceId();
+                case PREMIUM -> shelter.getStripePremiumPriceId();
+            };
+            // Set default payment method for future invoices; the subscription names it itself, so it doesn't wait on this.
+            // Best-effort: failing here must not fail the request and orphan the subscription created alongside it
+            scope.fork(() -> {
+                try {
+                    return timed("default_payment_method", () -> stripeGateway.updateCustomer(customer, CustomerUpdateParams.builder()
+                            .setInvoiceSettings(CustomerUpdateParams.InvoiceSettings.builder()
+                                    .setDefaultPaymentMethod(subscriptionRequest.getPaymentMethodId())
+                                    .build())
+                            .build(), stripeOptions(user, idempotencyKey, "default_payment_method")));
+                } catch (StripeException | RuntimeException e) {
+                    System.out.println("Unable to set default payment method for customer " + customer.getId() + ": " + e.getMessage());
+                    return null;
+                }
+            });
+            // Create Stripe subscription on this thread, for the same reason as the customer
+            SubscriptionCreateParams subParams = SubscriptionCreateParams.builder()
+                    .setCustomer(customer.getId())
+                    .addItem(SubscriptionCreateParams.Item.builder()
+                            .setPrice(priceId)
+                            .build())
+                    .setDefaultPaymentMethod(subscriptionRequest.getPaymentMethodId())
+                    .setPaymentBehavior(SubscriptionCreateParams.PaymentBehavior.DEFAULT_INCOMPLETE)
+                    .setPaymentSettings(
+                            SubscriptionCreateParams.PaymentSettings.builder()
+                                    .setSaveDefaultPaymentMethod(
+                                            SubscriptionCreateParams.PaymentSettings.SaveDefaultPaymentMethod.ON_SUBSCRIPTION)
+                                    .build())
+                    .addExpand("latest_invoice.payment_intent") // important to get client secret
+                    .build();
+            Subscription stripeSubscription = timed("subscription",
+                    () -> stripeGateway.createSubscription(subParams, stripeOptions(user, idempotencyKey, "subscription")));
+            await(scope);
+            // Extract client secret for frontend payment confirmation
+            var paymentIntent = (com.stripe.model.PaymentIntent)
+                    stripeSubscription.getLatestInvoiceObject().getPaymentIntentObject();
+            String clientSecret = paymentIntent != null ? paymentIntent.getClientSecret() : null;
+            // Save subscription locally, unless a concurrent retry already saved the one Stripe replayed to us
+            com.fanimal.backend.model.Subscription subscription = timed("save",
+                    () -> saveLocally(user, shelter, subscriptionRequest.getTier(), stripeSubscription));
+            SubscriptionResponse response = SubscriptionResponse.builder()
+                    .id(subscription.getId())
+                    .startDate(subscription.getStartDate())
+                    .tier(subscription.getTier())
+                    .shelter(ShelterResponse.fromEntity(shelter))
+                    .user(UserResponse.fromEntity(user))
+                    .status(subscription.getStatus())
+                    .build();
+            if (idempotencyKey != null) {
+                subscriptionIdempotency.record(user, idempotencyKey, requestHash, response);
+            }
+            return response;
+        } finally {
+            total.stop(Timer.builder("subscriptions.subscribe").register(meterRegistry));
+        }
     }
 
+    // The unique stripe_subscription_id decides between concurrent retries; the loser returns the winner's row
+    private com.fanimal.backend.model.Subscription saveLocally(User user, Shelter shelter, com.fanimal.backend.model.Subscription.Tier tier,
+                                                               Subscription stripeSubscription) {
+        var existing = subscriptionRepository.findByStripeSubscriptionId(stripeSubscription.getId());
+        if (existing.isPresent()) return existing.get();
+        com.fanimal.backend.model.Subscription created;
+        try {
+            created = subscriptionRepository.save(com.fanimal.backend.model.Subscription.builder()
+                    .user(user)
+                    .shelter(shelter)
+                    .tier(tier)
+                    .startDate(LocalDate.now())
+                    .stripeSubscriptionId(stripeSubscription.getId())
+                    .status(SubscriptionStatus.valueOf(stripeSubscription.getStatus().toUpperCase()))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            return subscriptionRepository.findByStripeSubscriptionId(stripeSubscription.getId()).orElseThrow(() -> e);
+        }
+        shelterSupportCounters.transition(shelter.getId(), null, null, created.getTier(), created.getStatus());
+        return created;
+    }
 
-    public List<SubscriptionResponse> findAllByUser(UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        return subscriptionRepository.findAllByUser(user).stream()
-                .map(subscription -> SubscriptionResponse.builder()
-                        .id(subscription.getId())
-                        .user(UserResponse.fromEntity(subscription.getUser()))
-                        .shelter(ShelterResponse.fromEntity(subscription.getShelter()))
-                        .startDate(subscription.getStartDate())
-                        .tier(subscription.getTier())
-                        .status(subscription.getStatus())
-                        .build())
-                .toList();
+    // One projection query per page, keyed by the principal's username, so neither the user nor any entity is loaded
+    public SubscriptionPageResponse findPageByUser(UserDetails userDetails, List<String> statuses, String cursor, int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be positive");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        Set<SubscriptionStatus> statusFilter = parseStatuses(statuses);
+        // One extra row tells us whether there is a next page without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<SubscriptionSummaryResponse> rows = cursor == null
+                ? subscriptionRepository.findPageByUsername(userDetails.getUsername(), statusFilter, limit)
+                : subscriptionRepository.findPageByUsernameBefore(userDetails.getUsername(), statusFilter, parseCursor(cursor), limit);
+        if (rows.size() <= pageSize) {
+            return new SubscriptionPageResponse(List.copyOf(rows), null);
+        }
+        List<SubscriptionSummaryResponse> items = rows.subList(0, pageSize);
+        return new SubscriptionPageResponse(List.copyOf(items), CursorCodec.encode(String.valueOf(items.get(pageSize - 1).getId())));
     }
 
     public void unsubscribe(Long id, UserDetails userDetails) throws StripeException {
@@ -140,10 +238,75 @@ public class SubscriptionService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Unauthorized to cancel this subscription");
         }
         // Cancel subscription in Stripe
-        Subscription stripeSubscription = Subscription.retrieve(subscription.getStripeSubscriptionId());
-        stripeSubscription.cancel(SubscriptionCancelParams.builder().build());
+        Subscription stripeSubscription = stripeGateway.cancelSubscription(subscription.getStripeSubscriptionId());
         // Update local DB
+        SubscriptionStatus previousStatus = subscription.getStatus();
         subscription.setStatus(SubscriptionStatus.valueOf(stripeSubscription.getStatus().toUpperCase()));
         subscriptionRepository.save(subscription);
+        shelterSupportCounters.transition(subscription.getShelter().getId(),
+                subscription.getTier(), previousStatus, subscription.getTier(), subscription.getStatus());
+    }
+
+    private static Set<SubscriptionStatus> parseStatuses(List<String> statuses) {
+        if (statuses == null || statuses.isEmpty()) return EnumSet.allOf(SubscriptionStatus.class);
+        Set<SubscriptionStatus> parsed = EnumSet.noneOf(SubscriptionStatus.class);
+        for (String status : statuses) {
+            try {
+                parsed.add(SubscriptionStatus.valueOf(status.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown status '" + status + "'");
+            }
+        }
+        return parsed;
+    }
+
+    private static Long parseCursor(String cursor) {
+        try {
+            return Long.valueOf(CursorCodec.decode(cursor, 1).get(0));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private <T> T timed(String step, StripeCall<T> call) throws StripeException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return call.call();
+        } finally {
+            sample.stop(Timer.builder("subscriptions.subscribe.step").tag("step", step).register(meterRegistry));
+        }
+    }
+
+    // Stripe keys are account-wide, so the user id keeps two users' keys apart, and Stripe refuses one key
+    // reused across different calls, so each call gets its own suffix
+    private static RequestOptions stripeOptions(User user, String idempotencyKey, String step) {
+        if (idempotencyKey == null) return RequestOptions.getDefault();
+        return RequestOptions.builder().setIdempotencyKey(user.getId() + ":" + idempotencyKey + ":" + step).build();
+    }
+
+    private static void await(TaskScope scope) throws StripeException {
+        unwrap(() -> {
+            scope.join();
+            return null;
+        });
+    }
+
+    // Rethrows a failure from a forked or shared step as what the sequential flow would have thrown
+    private static <T> T unwrap(Callable<T> call) throws StripeException {
+        try {
+            return call.call();
+        } catch (StripeException | RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Subscription was interrupted");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StripeCall<T> {
+        T call() throws StripeException;
     }
 }
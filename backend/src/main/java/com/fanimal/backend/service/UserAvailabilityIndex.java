@@ -0,0 +1,146 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.UserRepository;
+import com.fanimal.backend.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class UserAvailabilityIndex {
+
+    private static final String USERNAME = "u:";
+    private static final String EMAIL = "e:";
+
+    private final UserRepository userRepository;
+    private final int expectedUsers;
+    private final double falsePositiveRate;
+    private final long syncOverlapMillis;
+    private final Counter filterNegatives;
+    private final Counter databaseChecks;
+    // Entries added since the last rebuild and deleted users still set in the filter; both degrade precision
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong removed = new AtomicLong();
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private volatile int capacity;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public UserAvailabilityIndex(UserRepository userRepository,
+                                 @Value("${users.availability.expected-insertions:100000}") int expectedUsers,
+                                 @Value("${users.availability.false-positive-rate:0.01}") double falsePositiveRate,
+                                 @Value("${users.availability.sync-overlap-ms:5000}") long syncOverlapMillis,
+                                 MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlapMillis = syncOverlapMillis;
+        this.filterNegatives = Counter.builder("users.availability.checks").tag("result", "filter").register(meterRegistry);
+        this.databaseChecks = Counter.builder("users.availability.checks").tag("result", "database").register(meterRegistry);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        if (mightContain(USERNAME + normalize(username))) {
+            databaseChecks.increment();
+            return !userRepository.existsByUsername(username);
+        }
+        filterNegatives.increment();
+        return true;
+    }
+
+    public boolean isEmailAvailable(String email) {
+        if (mightContain(EMAIL + normalize(email))) {
+            databaseChecks.increment();
+            return !userRepository.existsByEmail(email);
+        }
+        filterNegatives.increment();
+        return true;
+    }
+
+    public void add(User user) {
+        put(USERNAME + normalize(user.getUsername()));
+        put(EMAIL + normalize(user.getEmail()));
+        inserted.addAndGet(2);
+    }
+
+    // Bloom filters can't forget; the stale bits only cost an extra query until the next rebuild
+    public void remove(User user) {
+        removed.addAndGet(2);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    // Users registered on other nodes only reach this filter through here; until then a filter miss for them
+    // would wrongly report the name as free, so the interval bounds that window
+    @Scheduled(fixedDelayString = "${users.availability.sync-interval-ms:10000}", initialDelayString = "${users.availability.sync-interval-ms:10000}")
+    public void syncDelta() {
+        if (filter == null) return;
+        Instant now = Instant.now();
+        Instant since = lastSync.minusMillis(syncOverlapMillis);
+        List<String> usernames = userRepository.findUsernamesCreatedSince(since);
+        List<String> emails = userRepository.findEmailsCreatedSince(since);
+        usernames.forEach(username -> put(USERNAME + normalize(username)));
+        emails.forEach(email -> put(EMAIL + normalize(email)));
+        inserted.addAndGet(usernames.size() + emails.size());
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${users.availability.rebuild-interval-ms:3600000}", initialDelayString = "${users.availability.rebuild-interval-ms:3600000}")
+    public void rebuildIfDegraded() {
+        if (removed.get() > 0 || inserted.get() > capacity) {
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        long deletedBefore = removed.get();
+        // Anything registered while the rows load is picked up by the next delta sync
+        Instant startedAt = Instant.now();
+        // Two keys per user, with headroom for the registrations expected before the next rebuild
+        int size = (int) Math.min(Integer.MAX_VALUE, Math.max(expectedUsers, userRepository.count() * 4));
+        BloomFilter next = new BloomFilter(size, falsePositiveRate);
+        // Registrations landing while the rows load are written to both filters
+        rebuilding = next;
+        List<String> usernames = userRepository.findAllUsernames();
+        List<String> emails = userRepository.findAllEmails();
+        usernames.forEach(username -> next.put(USERNAME + normalize(username)));
+        emails.forEach(email -> next.put(EMAIL + normalize(email)));
+        capacity = size;
+        inserted.set(usernames.size() + emails.size());
+        removed.addAndGet(-deletedBefore);
+        filter = next;
+        rebuilding = null;
+        lastSync = startedAt;
+        System.out.println("Loaded availability index for " + usernames.size() + " users");
+    }
+
+    private boolean mightContain(String key) {
+        BloomFilter current = filter;
+        // Until the index is loaded every check goes to the database
+        return current == null || current.mightContain(key);
+    }
+
+    private void put(String key) {
+        BloomFilter current = filter;
+        if (current != null) current.put(key);
+        BloomFilter next = rebuilding;
+        if (next != null) next.put(key);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
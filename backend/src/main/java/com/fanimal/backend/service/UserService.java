@@ -4,6 +4,7 @@ import com.fanimal.backend.dto.user.UserResponse;
 import com.fanimal.backend.dto.user.UserUpdateRequest;
 import com.fanimal.backend.model.User;
 import com.fanimal.backend.repository.UserRepository;
+import com.fanimal.backend.security.SecurityEpochRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,16 +16,22 @@ import org.springframework.web.server.ResponseStatusException;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final SecurityEpochRegistry securityEpochRegistry;
+    private final UserAvailabilityIndex userAvailabilityIndex;
+    private final UserVersionCache userVersionCache;
 
     public UserResponse getCurrentUser(UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername()).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));;
+        User user = userRepository.findByUsername(userDetails.getUsername()).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        userVersionCache.record(user);
         return UserResponse.fromEntity(user);
     }
 
     public UserResponse updateCurrentUser(UserUpdateRequest userUpdateRequest, UserDetails userDetails) {
         User user = userRepository.findByUsername(userDetails.getUsername()).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
         if (userUpdateRequest.getName() != null) user.setName(userUpdateRequest.getName());
-        userRepository.save(user);
+        // Flushing bumps @Version now, so the recorded ETag matches what the next GET will see
+        user = userRepository.saveAndFlush(user);
+        userVersionCache.record(user);
         return UserResponse.fromEntity(user);
     }
 
@@ -36,5 +43,8 @@ public class UserService {
     public void delete(Long id) {
         User user = userRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
         userRepository.delete(user);
+        securityEpochRegistry.revoke(user);
+        userAvailabilityIndex.remove(user);
+        userVersionCache.evict(user.getUsername());
     }
 }
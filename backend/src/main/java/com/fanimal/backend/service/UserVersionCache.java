@@ -0,0 +1,79 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.user.UserResponse;
+import com.fanimal.backend.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class UserVersionCache {
+
+    private final long ttlMillis;
+    private final Map<String, VersionEntry> versions = new ConcurrentHashMap<>();
+
+    // The TTL bounds how long an update made on another node can go unnoticed here
+    public UserVersionCache(@Value("${users.etag.ttl-ms:60000}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public String etag(String username) {
+        VersionEntry entry = versions.get(username);
+        if (entry == null) return null;
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            versions.remove(username, entry);
+            return null;
+        }
+        return etag(entry.userId(), entry.version());
+    }
+
+    // Serves a user's own profile conditionally. A version the client already holds answers without loading the
+    // user; anything else is checked against the loaded one, so checkNotModified only ever sees the ETag of the body
+    // that would be sent. checkNotModified also writes the ETag header, so the entity doesn't set it again.
+    public ResponseEntity<UserResponse> conditionalGet(String username, WebRequest webRequest, Supplier<UserResponse> loader) {
+        String cached = etag(username);
+        if (cached != null && cached.equals(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH)) && webRequest.checkNotModified(cached)) {
+            return null;
+        }
+        UserResponse userResponse = loader.get();
+        if (webRequest.checkNotModified(etag(userResponse))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(userResponse);
+    }
+
+    public void record(User user) {
+        versions.put(user.getUsername(), new VersionEntry(user.getId(), user.getVersion(), System.currentTimeMillis() + ttlMillis));
+    }
+
+    public void evict(String username) {
+        versions.remove(username);
+    }
+
+    @Scheduled(fixedDelayString = "${users.etag.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        versions.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    public static String etag(UserResponse userResponse) {
+        return etag(userResponse.getId(), userResponse.getVersion());
+    }
+
+    private static String etag(Long userId, long version) {
+        return "\"" + userId + "-" + version + "\"";
+    }
+
+    private record VersionEntry(Long userId, long version, long expiresAt) {
+    }
+}
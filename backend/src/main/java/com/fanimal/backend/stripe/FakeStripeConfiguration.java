@@ -0,0 +1,45 @@
+package com.fanimal.backend.stripe;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Under the fake-stripe profile every Stripe call goes to an in-process FakeStripeServer instead of api.stripe.com
+@Configuration
+@Profile("fake-stripe")
+public class FakeStripeConfiguration {
+
+    @Bean(destroyMethod = "stop")
+    public FakeStripeServer fakeStripeServer(@Value("${stripe.fake.port:0}") int port, Environment environment) throws IOException {
+        Map<FakeStripeServer.Operation, FakeStripeServer.Behaviour> behaviours = new EnumMap<>(FakeStripeServer.Operation.class);
+        for (FakeStripeServer.Operation operation : FakeStripeServer.Operation.values()) {
+            behaviours.put(operation, behaviour(environment, operation.getKey()));
+        }
+        FakeStripeServer server = new FakeStripeServer(port, behaviours::get);
+        server.start();
+        server.overrideStripeApiBase();
+        System.out.println("Stripe API calls go to the fake server at " + server.getBaseUrl());
+        return server;
+    }
+
+    // Each setting can be overridden per operation, e.g. stripe.fake.latency.subscription-create
+    private static FakeStripeServer.Behaviour behaviour(Environment environment, String operation) {
+        String latency = setting(environment, "stripe.fake.latency", operation, "none");
+        double errorRate = Double.parseDouble(setting(environment, "stripe.fake.error-rate", operation, "0"));
+        double rateLimitRate = Double.parseDouble(setting(environment, "stripe.fake.rate-limit-rate", operation, "0"));
+        if (errorRate < 0 || rateLimitRate < 0 || errorRate + rateLimitRate > 1) {
+            throw new IllegalArgumentException("Fake Stripe error rates for " + operation + " must be probabilities that sum to at most 1");
+        }
+        return new FakeStripeServer.Behaviour(LatencyDistribution.parse(latency), errorRate, rateLimitRate);
+    }
+
+    private static String setting(Environment environment, String prefix, String operation, String fallback) {
+        return environment.getProperty(prefix + "." + operation, environment.getProperty(prefix + ".default", fallback));
+    }
+}
@@ -0,0 +1,394 @@
+package com.fanimal.backend.stripe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.Stripe;
+import com.stripe.net.Webhook;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// In-process stand-in for the Stripe endpoints the app calls, for offline tests and load tests.
+// overrideStripeApiBase() points the Stripe client here; every operation gets its own latency and error injection.
+public class FakeStripeServer {
+
+    public enum Operation {
+        CUSTOMER_CREATE("customer-create"),
+        CUSTOMER_RETRIEVE("customer-retrieve"),
+        CUSTOMER_UPDATE("customer-update"),
+        CUSTOMER_DELETE("customer-delete"),
+        PAYMENT_METHOD_RETRIEVE("payment-method-retrieve"),
+        PAYMENT_METHOD_ATTACH("payment-method-attach"),
+        SUBSCRIPTION_CREATE("subscription-create"),
+        SUBSCRIPTION_RETRIEVE("subscription-retrieve"),
+        SUBSCRIPTION_CANCEL("subscription-cancel");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    // errorRate answers 500 api_error, rateLimitRate answers 429; both are probabilities per request
+    public record Behaviour(LatencyDistribution latency, double errorRate, double rateLimitRate) {
+
+        public static final Behaviour NONE = new Behaviour(LatencyDistribution.NONE, 0, 0);
+    }
+
+    private final int port;
+    private final Function<Operation, Behaviour> behaviours;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Map<String, Object>> customers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> paymentMethods = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, Response> idempotentResponses = new ConcurrentHashMap<>();
+    private final Map<Operation, AtomicLong> requestCounts = new EnumMap<>(Operation.class);
+    private final AtomicLong ids = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+    private String previousApiBase;
+
+    public FakeStripeServer(int port, Function<Operation, Behaviour> behaviours) {
+        this.port = port;
+        this.behaviours = behaviours;
+        for (Operation operation : Operation.values()) {
+            requestCounts.put(operation, new AtomicLong());
+        }
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) return;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        // Injected latency sleeps, so every request gets its own virtual thread
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/v1/", this::handle);
+        server.start();
+    }
+
+    public synchronized void stop() {
+        if (server == null) return;
+        if (previousApiBase != null) {
+            Stripe.overrideApiBase(previousApiBase);
+            previousApiBase = null;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+    }
+
+    // Sends every Stripe call in this JVM here until stop(), which puts the previous base back
+    public synchronized void overrideStripeApiBase() {
+        String baseUrl = getBaseUrl();
+        if (previousApiBase == null) previousApiBase = Stripe.getApiBase();
+        Stripe.overrideApiBase(baseUrl);
+    }
+
+    public synchronized String getBaseUrl() {
+        if (server == null) throw new IllegalStateException("Fake Stripe server is not running");
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount(Operation operation) {
+        return requestCounts.get(operation).get();
+    }
+
+    // Stripe-Signature header value for a webhook payload, so load tests can drive StripeWebhookController too
+    public static String webhookSignature(String payload, String secret) {
+        long timestamp = Instant.now().getEpochSecond();
+        try {
+            return "t=" + timestamp + ",v1=" + Webhook.Util.computeHmacSha256(secret, timestamp + "." + payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign webhook payload", e);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                respond(exchange);
+            } catch (RuntimeException e) {
+                System.out.println("Fake Stripe request failed: " + e.getMessage());
+                // Answer like Stripe's own 500s so the client raises ApiException instead of seeing a dropped connection,
+                // unless the failure came after the headers went out
+                if (exchange.getResponseCode() == -1) {
+                    send(exchange, new Response(500, error("api_error", null, "Fake Stripe server error: " + e.getMessage())));
+                }
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/v1/".length()).split("/");
+        Map<String, String> params = new HashMap<>(parseForm(exchange.getRequestURI().getRawQuery()));
+        params.putAll(parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+        Operation operation = route(method, path);
+        if (operation == null) {
+            send(exchange, new Response(404, error("invalid_request_error", "resource_missing",
+                    "Unrecognized request URL (" + method + ": " + exchange.getRequestURI().getPath() + ")")));
+            return;
+        }
+        requestCounts.get(operation).incrementAndGet();
+        String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+        if (idempotencyKey != null) {
+            Response replay = idempotentResponses.get(idempotencyKey);
+            if (replay != null) {
+                send(exchange, replay);
+                return;
+            }
+        }
+        Response response = simulate(operation, path, params);
+        // Like Stripe, only settled results are replayed; injected 429s and 500s may be retried
+        if (idempotencyKey != null && response.status() < 500 && response.status() != 429) {
+            Response first = idempotentResponses.putIfAbsent(idempotencyKey, response);
+            if (first != null) response = first;
+        }
+        send(exchange, response);
+    }
+
+    private Operation route(String method, String[] path) {
+        return switch (path[0]) {
+            case "customers" -> switch (method) {
+                case "POST" -> path.length == 1 ? Operation.CUSTOMER_CREATE : path.length == 2 ? Operation.CUSTOMER_UPDATE : null;
+                case "GET" -> path.length == 2 ? Operation.CUSTOMER_RETRIEVE : null;
+                case "DELETE" -> path.length == 2 ? Operation.CUSTOMER_DELETE : null;
+                default -> null;
+            };
+            case "payment_methods" -> {
+                if (path.length == 2 && method.equals("GET")) yield Operation.PAYMENT_METHOD_RETRIEVE;
+                if (path.length == 3 && path[2].equals("attach") && method.equals("POST")) yield Operation.PAYMENT_METHOD_ATTACH;
+                yield null;
+            }
+            case "subscriptions" -> switch (method) {
+                case "POST" -> path.length == 1 ? Operation.SUBSCRIPTION_CREATE : null;
+                case "GET" -> path.length == 2 ? Operation.SUBSCRIPTION_RETRIEVE : null;
+                case "DELETE" -> path.length == 2 ? Operation.SUBSCRIPTION_CANCEL : null;
+                default -> null;
+            };
+            default -> null;
+        };
+    }
+
+    private Response simulate(Operation operation, String[] path, Map<String, String> params) {
+        Behaviour behaviour = behaviours.apply(operation);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = behaviour.latency().sampleMillis(random);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        double roll = random.nextDouble();
+        if (roll < behaviour.rateLimitRate()) {
+            return new Response(429, error("invalid_request_error", "rate_limit", "Injected rate limit"));
+        }
+        if (roll < behaviour.rateLimitRate() + behaviour.errorRate()) {
+            return new Response(500, error("api_error", null, "Injected failure"));
+        }
+        return switch (operation) {
+            case CUSTOMER_CREATE -> createCustomer(params);
+            case CUSTOMER_RETRIEVE -> found(customers.get(path[1]), "customer", path[1]);
+            case CUSTOMER_UPDATE -> updateCustomer(path[1], params);
+            case CUSTOMER_DELETE -> deleteCustomer(path[1]);
+            case PAYMENT_METHOD_RETRIEVE -> found(paymentMethod(path[1]), "payment_method", path[1]);
+            case PAYMENT_METHOD_ATTACH -> attachPaymentMethod(path[1], params);
+            case SUBSCRIPTION_CREATE -> createSubscription(params);
+            case SUBSCRIPTION_RETRIEVE -> found(subscriptions.get(path[1]), "subscription", path[1]);
+            case SUBSCRIPTION_CANCEL -> cancelSubscription(path[1]);
+        };
+    }
+
+    private Response createCustomer(Map<String, String> params) {
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("id", nextId("cus"));
+        customer.put("object", "customer");
+        customer.put("created", Instant.now().getEpochSecond());
+        customer.put("email", params.get("email"));
+        customer.put("name", params.get("name"));
+        Map<String, Object> invoiceSettings = new LinkedHashMap<>();
+        invoiceSettings.put("default_payment_method", null);
+        customer.put("invoice_settings", invoiceSettings);
+        customers.put((String) customer.get("id"), customer);
+        return new Response(200, new LinkedHashMap<>(customer));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response updateCustomer(String id, Map<String, String> params) {
+        Map<String, Object> customer = customers.get(id);
+        if (customer == null) return missing("customer", id);
+        synchronized (customer) {
+            if (params.containsKey("email")) customer.put("email", params.get("email"));
+            if (params.containsKey("name")) customer.put("name", params.get("name"));
+            String defaultPaymentMethod = params.get("invoice_settings[default_payment_method]");
+            if (defaultPaymentMethod != null) {
+                ((Map<String, Object>) customer.get("invoice_settings")).put("default_payment_method", defaultPaymentMethod);
+            }
+            return new Response(200, new LinkedHashMap<>(customer));
+        }
+    }
+
+    private Response deleteCustomer(String id) {
+        if (customers.remove(id) == null) return missing("customer", id);
+        return new Response(200, new LinkedHashMap<>(Map.of("id", id, "object", "customer", "deleted", true)));
+    }
+
+    // Any payment method id exists, like Stripe's test tokens (pm_card_visa etc.)
+    private Map<String, Object> paymentMethod(String id) {
+        return paymentMethods.computeIfAbsent(id, key -> {
+            Map<String, Object> paymentMethod = new LinkedHashMap<>();
+            paymentMethod.put("id", key);
+            paymentMethod.put("object", "payment_method");
+            paymentMethod.put("type", "card");
+            paymentMethod.put("customer", null);
+            return paymentMethod;
+        });
+    }
+
+    private Response attachPaymentMethod(String id, Map<String, String> params) {
+        String customerId = params.get("customer");
+        if (customerId == null || !customers.containsKey(customerId)) return missing("customer", customerId);
+        Map<String, Object> paymentMethod = paymentMethod(id);
+        synchronized (paymentMethod) {
+            paymentMethod.put("customer", customerId);
+            return new Response(200, new LinkedHashMap<>(paymentMethod));
+        }
+    }
+
+    private Response createSubscription(Map<String, String> params) {
+        String customerId = params.get("customer");
+        if (customerId == null || !customers.containsKey(customerId)) return missing("customer", customerId);
+        String subscriptionId = nextId("sub");
+        String paymentIntentId = nextId("pi");
+        Map<String, Object> paymentIntent = new LinkedHashMap<>();
+        paymentIntent.put("id", paymentIntentId);
+        paymentIntent.put("object", "payment_intent");
+        paymentIntent.put("status", "requires_confirmation");
+        paymentIntent.put("client_secret", paymentIntentId + "_secret_" + UUID.randomUUID().toString().replace("-", ""));
+        Map<String, Object> invoice = new LinkedHashMap<>();
+        invoice.put("id", nextId("in"));
+        invoice.put("object", "invoice");
+        invoice.put("customer", customerId);
+        invoice.put("subscription", subscriptionId);
+        invoice.put("payment_intent", paymentIntent);
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        Map<String, Object> subscription = new LinkedHashMap<>();
+        subscription.put("id", subscriptionId);
+        subscription.put("object", "subscription");
+        subscription.put("created", now.toEpochSecond());
+        // Monthly billing; the webhook handlers unbox these into the local start and end dates
+        subscription.put("current_period_start", now.toEpochSecond());
+        subscription.put("current_period_end", now.plusMonths(1).toEpochSecond());
+        subscription.put("customer", customerId);
+        subscription.put("status", "incomplete");
+        subscription.put("default_payment_method", params.get("default_payment_method"));
+        subscription.put("items", Map.of("object", "list", "has_more", false, "url", "/v1/subscription_items",
+                "data", List.of(Map.of("id", nextId("si"), "object", "subscription_item",
+                        "price", Map.of("id", params.getOrDefault("items[0][price]", ""), "object", "price")))));
+        subscription.put("latest_invoice", invoice);
+        subscriptions.put(subscriptionId, subscription);
+        synchronized (subscription) {
+            return new Response(200, expand(subscription, params));
+        }
+    }
+
+    private Response cancelSubscription(String id) {
+        Map<String, Object> subscription = subscriptions.get(id);
+        if (subscription == null) return missing("subscription", id);
+        synchronized (subscription) {
+            subscription.put("status", "canceled");
+            subscription.put("canceled_at", Instant.now().getEpochSecond());
+            return new Response(200, expand(subscription, Map.of()));
+        }
+    }
+
+    // The invoice and its payment intent are stored expanded and collapsed back to ids unless asked for
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> expand(Map<String, Object> subscription, Map<String, String> params) {
+        Set<String> expand = new HashSet<>();
+        params.forEach((key, value) -> {
+            if (key.startsWith("expand[")) expand.add(value);
+        });
+        Map<String, Object> copy = new LinkedHashMap<>(subscription);
+        Map<String, Object> invoice = new LinkedHashMap<>((Map<String, Object>) subscription.get("latest_invoice"));
+        if (!expand.contains("latest_invoice.payment_intent")) {
+            invoice.put("payment_intent", ((Map<String, Object>) invoice.get("payment_intent")).get("id"));
+        }
+        boolean expandInvoice = expand.contains("latest_invoice") || expand.contains("latest_invoice.payment_intent");
+        copy.put("latest_invoice", expandInvoice ? invoice : invoice.get("id"));
+        return copy;
+    }
+
+    private Response found(Map<String, Object> resource, String type, String id) {
+        if (resource == null) return missing(type, id);
+        synchronized (resource) {
+            return new Response(200, type.equals("subscription") ? expand(resource, Map.of()) : new LinkedHashMap<>(resource));
+        }
+    }
+
+    private Response missing(String type, String id) {
+        return new Response(404, error("invalid_request_error", "resource_missing", "No such " + type + ": '" + id + "'"));
+    }
+
+    private static Map<String, Object> error(String type, String code, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("type", type);
+        if (code != null) error.put("code", code);
+        error.put("message", message);
+        return Map.of("error", error);
+    }
+
+    private String nextId(String prefix) {
+        return prefix + "_fake" + Long.toString(ids.incrementAndGet(), 36);
+    }
+
+    private void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(response.body());
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Request-Id", "req_fake" + Long.toString(ids.incrementAndGet(), 36));
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // Stripe sends nested params flattened, e.g. items[0][price]=...; they're kept as flat keys
+    private static Map<String, String> parseForm(String form) {
+        if (form == null || form.isEmpty()) return Map.of();
+        Map<String, String> params = new HashMap<>();
+        for (String pair : form.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private record Response(int status, Map<String, Object> body) {
+    }
+}
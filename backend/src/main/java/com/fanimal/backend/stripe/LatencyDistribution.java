@@ -0,0 +1,52 @@
+package com.fanimal.backend.stripe;
+
+import java.util.random.RandomGenerator;
+
+// Simulated response time, parsed from "none", "fixed:50", "uniform:20-80" or "lognormal:40,250" (p50,p99), all in ms
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    LatencyDistribution NONE = random -> 0;
+
+    long sampleMillis(RandomGenerator random);
+
+    static LatencyDistribution parse(String spec) {
+        String trimmed = spec.trim();
+        if (trimmed.isEmpty() || trimmed.equals("none")) return NONE;
+        int colon = trimmed.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Latency must look like 'fixed:50', 'uniform:20-80' or 'lognormal:40,250': " + spec);
+        }
+        String type = trimmed.substring(0, colon);
+        String args = trimmed.substring(colon + 1);
+        try {
+            return switch (type) {
+                case "fixed" -> {
+                    long millis = Long.parseLong(args.trim());
+                    if (millis < 0) throw new IllegalArgumentException("Latency must not be negative: " + spec);
+                    yield random -> millis;
+                }
+                case "uniform" -> {
+                    String[] bounds = args.split("-");
+                    long min = Long.parseLong(bounds[0].trim());
+                    long max = Long.parseLong(bounds[1].trim());
+                    if (min < 0 || max < min) throw new IllegalArgumentException("Uniform latency needs 0 <= min <= max: " + spec);
+                    yield random -> min == max ? min : random.nextLong(min, max + 1);
+                }
+                case "lognormal" -> {
+                    String[] percentiles = args.split(",");
+                    double p50 = Double.parseDouble(percentiles[0].trim());
+                    double p99 = Double.parseDouble(percentiles[1].trim());
+                    if (p50 <= 0 || p99 < p50) throw new IllegalArgumentException("Lognormal latency needs 0 < p50 <= p99: " + spec);
+                    double mu = Math.log(p50);
+                    // 2.326 is the z-score of the 99th percentile
+                    double sigma = (Math.log(p99) - mu) / 2.326;
+                    yield random -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+                }
+                default -> throw new IllegalArgumentException("Unknown latency distribution '" + type + "'");
+            };
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed latency '" + spec + "'", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.fanimal.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+// Opaque pagination cursors: base64url of the keyset values, so clients can't build or depend on them
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\n";
+
+    private CursorCodec() {
+    }
+
+    // The last part may contain anything (e.g. a name); earlier parts must not contain a newline
+    public static String encode(String... parts) {
+        String joined = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static List<String> decode(String cursor, int expectedParts) {
+        String joined;
+        try {
+            joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        String[] parts = joined.split(SEPARATOR, expectedParts);
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return Arrays.asList(parts);
+    }
+}
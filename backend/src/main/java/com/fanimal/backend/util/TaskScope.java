@@ -0,0 +1,54 @@
+package com.fanimal.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+// Fork/join on virtual threads with shutdown-on-failure semantics, until StructuredTaskScope leaves preview
+public class TaskScope implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CompletionService<Object> completions = new ExecutorCompletionService<>(executor);
+    private final List<Future<?>> forked = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> Future<T> fork(Callable<T> task) {
+        Future<T> future = (Future<T>) completions.submit((Callable<Object>) task);
+        forked.add(future);
+        return future;
+    }
+
+    // Waits for every fork; the first failure cancels the rest and is rethrown as-is
+    public void join() throws Exception {
+        try {
+            for (int remaining = forked.size(); remaining > 0; remaining--) {
+                Future<Object> done = completions.take();
+                try {
+                    done.get();
+                } catch (ExecutionException e) {
+                    cancelAll();
+                    if (e.getCause() instanceof Exception cause) throw cause;
+                    throw e;
+                }
+            }
+        } finally {
+            forked.clear();
+        }
+    }
+
+    // Forks never outlive the scope: cancelled ones are waited for until they notice the interrupt
+    @Override
+    public void close() {
+        cancelAll();
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void cancelAll() {
+        forked.forEach(future -> future.cancel(true));
+    }
+}
@@ -0,0 +1,100 @@
+package com.fanimal.backend.benchmark;
+
+import com.fanimal.backend.dto.user.UserResponse;
+import com.fanimal.backend.model.Role;
+import com.fanimal.backend.security.JwtUtils;
+import com.fanimal.backend.security.TokenClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issue/verify cost of {@link JwtUtils}. The baselines reproduce the previous behaviour: compare
+ * {@code issue} with {@code issueWithRoleObjects} (roles serialized as id/name objects rather than
+ * a {@link Role#toMask} bitmask) and {@code verify} with {@code verifyWithNewParser} (a parser built
+ * per call). Run with the GC profiler to compare allocation as well as time:
+ * <pre>./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.fanimal.backend.benchmark.JwtUtilsBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "benchmarksecret1234567890benchmarksecret";
+
+    private JwtUtils jwtUtils;
+    private SecretKey key;
+    private UserResponse userResponse;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "expiration", 3_600_000L);
+        jwtUtils.init();
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        userResponse = UserResponse.builder()
+                .id(1L)
+                .username("username")
+                .roles(Set.of(Role.USER))
+                .build();
+        token = jwtUtils.generateToken(userResponse, 0L);
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtUtils.generateToken(userResponse, 0L);
+    }
+
+    @Benchmark
+    public String issueWithRoleObjects() {
+        return Jwts.builder()
+                .subject(userResponse.getUsername())
+                .claim("uid", userResponse.getId())
+                .claim("epoch", 0L)
+                .claim("roles", List.of(Map.of("id", 1L, "name", Role.USER.name())))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000L))
+                .signWith(key)
+                .compact();
+    }
+
+    @Benchmark
+    public TokenClaims verify() {
+        return jwtUtils.parseToken(token);
+    }
+
+    @Benchmark
+    public Claims verifyWithNewParser() {
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilsBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.fanimal.backend.config;
+
+import com.fanimal.backend.model.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RoleMaskMigration Unit Tests")
+class RoleMaskMigrationTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private RoleMaskMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:role_mask_migration;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, role_mask INT NOT NULL DEFAULT 0)");
+        jdbcTemplate.execute("CREATE TABLE roles (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE user_roles (user_id BIGINT, role_id BIGINT)");
+        jdbcTemplate.update("INSERT INTO roles VALUES (1, 'USER'), (2, 'SHELTER'), (3, 'ADMIN')");
+        jdbcTemplate.update("INSERT INTO users (id) VALUES (1), (2)");
+        jdbcTemplate.update("INSERT INTO user_roles VALUES (1, 1), (1, 3), (2, 2)");
+        migration = new RoleMaskMigration(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void migrateShouldBackfillRoleMaskAndKeepJoinTables() {
+        migration.migrate();
+
+        assertEquals(Role.USER.bit() | Role.ADMIN.bit(), roleMask(1));
+        assertEquals(Role.SHELTER.bit(), roleMask(2));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_roles", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM schema_migrations WHERE name = ?", Integer.class, RoleMaskMigration.MIGRATION));
+    }
+
+    @Test
+    void migrateShouldNotRunTwice() {
+        migration.migrate();
+        jdbcTemplate.update("UPDATE users SET role_mask = 0 WHERE id = 2");
+
+        migration.migrate();
+
+        assertEquals(0, roleMask(2));
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void migrateShouldSkipWhenAnotherNodeAlreadyClaimedTheMarker() {
+        jdbcTemplate.execute("CREATE TABLE schema_migrations (name VARCHAR(100) PRIMARY KEY, applied_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.update("INSERT INTO schema_migrations VALUES (?, CURRENT_TIMESTAMP)", RoleMaskMigration.MIGRATION);
+
+        migration.migrate();
+
+        assertEquals(0, roleMask(1));
+    }
+
+    @Test
+    void migrateShouldDoNothingWithoutJoinTables() {
+        jdbcTemplate.execute("DROP TABLE user_roles");
+
+        migration.migrate();
+
+        assertEquals(0, roleMask(1));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migrations", Integer.class));
+    }
+
+    private int roleMask(long userId) {
+        return jdbcTemplate.queryForObject("SELECT role_mask FROM users WHERE id = ?", Integer.class, userId);
+    }
+}
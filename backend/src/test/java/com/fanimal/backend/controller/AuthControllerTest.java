@@ -2,8 +2,6 @@ package com.fanimal.backend.controller;
 
 import com.fanimal.backend.dto.user.LoginRequest;
 import com.fanimal.backend.dto.user.RegisterRequest;
-import com.fanimal.backend.model.Role;
-import com.fanimal.backend.repository.RoleRepository;
 import com.fanimal.backend.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +16,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -34,8 +34,6 @@ class AuthControllerTest {
     private ObjectMapper objectMapper;
     @Autowired
     private UserRepository userRepository;
-    @Autowired
-    private RoleRepository roleRepository;
     private RegisterRequest registerRequest;
     private LoginRequest loginRequest;
     private RegisterRequest invalidRegisterRequest;
@@ -44,14 +42,6 @@ class AuthControllerTest {
     private LoginRequest invalidLoginRequest;
 
     // --------------------- Setup ---------------------
-    @BeforeEach
-    void setUpRoles() {
-        for (Role.RoleName roleName : Role.RoleName.values()) {
-            roleRepository.findByName(roleName)
-                    .orElseGet(() -> roleRepository.save(Role.builder().name(roleName).build()));
-        }
-    }
-
     @BeforeEach
     void setUp() {
         registerRequest = new RegisterRequest();
@@ -159,6 +149,63 @@ class AuthControllerTest {
         assertEquals(200, result.getResponse().getStatus());
     }
 
+    @Test
+    void logoutShouldRevokeAccessToken() throws Exception {
+        MvcResult registerResult = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andReturn();
+        String token = extractToken(registerResult.getResponse().getContentAsString());
+
+        MvcResult logoutResult = mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+        MvcResult verifyResult = mockMvc.perform(get("/api/auth/verify")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        assertEquals(200, logoutResult.getResponse().getStatus());
+        assertEquals(401, verifyResult.getResponse().getStatus());
+    }
+
+    @Test
+    void refreshShouldReturnNewTokens() throws Exception {
+        MvcResult registerResult = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andReturn();
+        String refreshToken = extractRefreshToken(registerResult.getResponse().getContentAsString());
+
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andReturn();
+
+        assertEquals(200, result.getResponse().getStatus());
+        String response = result.getResponse().getContentAsString();
+        assertNotNull(extractToken(response));
+        assertNotEquals(refreshToken, extractRefreshToken(response));
+    }
+
+    @Test
+    void availabilityShouldReportTakenAndFreeValues() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(get("/api/auth/availability")
+                        .param("username", registerRequest.getUsername())
+                        .param("email", "free@fanimal.com"))
+                .andReturn();
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertFalse(objectMapper.readTree(result.getResponse().getContentAsString()).path("usernameAvailable").asBoolean());
+        assertTrue(objectMapper.readTree(result.getResponse().getContentAsString()).path("emailAvailable").asBoolean());
+    }
+
     // --------------------- NEGATIVE TESTS ---------------------
     @Test
     void registerShouldReturn400WhenInvalidInput() throws Exception {
@@ -238,6 +285,43 @@ class AuthControllerTest {
         assertEquals(401, result.getResponse().getStatus());
     }
 
+    @Test
+    void refreshShouldReturn401WhenTokenReused() throws Exception {
+        MvcResult registerResult = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andReturn();
+        String refreshToken = extractRefreshToken(registerResult.getResponse().getContentAsString());
+        String body = objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn();
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn();
+
+        assertEquals(401, result.getResponse().getStatus());
+    }
+
+    @Test
+    void refreshShouldReturn401WhenGivenAccessToken() throws Exception {
+        MvcResult registerResult = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andReturn();
+        String token = extractToken(registerResult.getResponse().getContentAsString());
+
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", token))))
+                .andReturn();
+
+        assertEquals(401, result.getResponse().getStatus());
+    }
+
     // --------------------- UTIL ---------------------
     private String extractToken(String json) {
         try {
@@ -246,4 +330,12 @@ class AuthControllerTest {
             return null;
         }
     }
+
+    private String extractRefreshToken(String json) {
+        try {
+            return objectMapper.readTree(json).path("refreshToken").asText(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
@@ -4,6 +4,10 @@ import com.fanimal.backend.dto.shelter.ShelterRequest;
 import com.fanimal.backend.dto.shelter.ShelterUpdateRequest;
 import com.fanimal.backend.dto.user.LoginRequest;
 import com.fanimal.backend.dto.user.RegisterRequest;
+import com.fanimal.backend.model.Role;
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +21,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -34,13 +41,16 @@ class ShelterControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserRepository userRepository;
+
     private String token;
     private ShelterRequest shelterRequest;
     private ShelterUpdateRequest shelterUpdateRequest;
 
     @BeforeEach
     void setUp() throws Exception {
-        // Register and log in to get a token
+        // Register, then log in with shelter rights to get a token
         RegisterRequest registerRequest = new RegisterRequest();
         registerRequest.setName("Shelter Owner");
         registerRequest.setEmail("shelterowner@test.com");
@@ -52,16 +62,8 @@ class ShelterControllerTest {
                         .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isCreated());
 
-        LoginRequest loginRequest = new LoginRequest();
-        loginRequest.setUsername("shelterowner");
-        loginRequest.setPassword("password");
-
-        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(loginRequest)))
-                .andReturn();
-
-        token = extractToken(loginResult.getResponse().getContentAsString());
+        // Creating, updating and deleting shelters needs the SHELTER role, which registration doesn't grant
+        token = grantRolesAndLogin(Role.SHELTER);
         assertNotNull(token);
 
         shelterRequest = new ShelterRequest();
@@ -78,12 +80,7 @@ class ShelterControllerTest {
     // --------------------- POSITIVE TESTS ---------------------
     @Test
     void create_ShouldReturn201AndShelterData() throws Exception {
-        MvcResult mvcResult = mockMvc.perform(post("/api/shelters")
-                        .header("Authorization", "Bearer " + token)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(shelterRequest)))
-                .andExpect(status().isCreated())
-                .andReturn();
+        MvcResult mvcResult = createShelter();
 
         String response = mvcResult.getResponse().getContentAsString();
         assertTrue(response.contains("Happy Tails Shelter"));
@@ -92,11 +89,7 @@ class ShelterControllerTest {
 
     @Test
     void findAll_ShouldReturnListOfShelters() throws Exception {
-        mockMvc.perform(post("/api/shelters")
-                        .header("Authorization", "Bearer " + token)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(shelterRequest)))
-                .andExpect(status().isCreated());
+        createShelter();
 
         MvcResult mvcResult = mockMvc.perform(get("/api/shelters")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -108,13 +101,165 @@ class ShelterControllerTest {
     }
 
     @Test
-    void findById_ShouldReturnShelter_WhenExists() throws Exception {
-        MvcResult createResult = mockMvc.perform(post("/api/shelters")
-                        .header("Authorization", "Bearer " + token)
+    void search_ShouldReturnMatchingShelters() throws Exception {
+        createShelter();
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/shelters/search").param("q", "rescued ottawa"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue(mvcResult.getResponse().getContentAsString().contains("Happy Tails Shelter"));
+    }
+
+    @Test
+    void findNearby_ShouldReturnClosestSheltersWithDistance() throws Exception {
+        shelterRequest.setLatitude(45.4215);
+        shelterRequest.setLongitude(-75.6972);
+        createShelter();
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/shelters/nearby")
+                        .param("lat", "45.43")
+                        .param("lon", "-75.70")
+                        .param("radiusKm", "5"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String content = mvcResult.getResponse().getContentAsString();
+        assertTrue(content.contains("Happy Tails Shelter"));
+        assertTrue(content.contains("distanceKm"));
+    }
+
+    @Test
+    void suggest_ShouldMatchNamePrefixes() throws Exception {
+        createShelter();
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/shelters/suggest")
+                        .param("prefix", "TAIL"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue(mvcResult.getResponse().getContentAsString().contains("Happy Tails Shelter"));
+    }
+
+    @Test
+    void findAll_ShouldServeSnapshotWithEtagAnd304() throws Exception {
+        createShelter();
+
+        MvcResult first = mockMvc.perform(get("/api/shelters"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        assertEquals(1, first.getResponse().getHeaders("ETag").size());
+        assertTrue(first.getResponse().getContentAsString().contains("Happy Tails Shelter"));
+
+        mockMvc.perform(get("/api/shelters").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        MvcResult gzipped = mockMvc.perform(get("/api/shelters").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals("gzip", gzipped.getResponse().getHeader("Content-Encoding"));
+        assertNotEquals(etag, gzipped.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    void findAllById_ShouldReturnRequestOrderWithMissingMarkers() throws Exception {
+        MvcResult createResult = createShelter();
+        Long createdId = extractId(createResult.getResponse().getContentAsString());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/shelters").param("ids", "99999," + createdId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode entries = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(99999L, entries.get(0).get("id").asLong());
+        assertFalse(entries.get(0).get("found").asBoolean());
+        assertTrue(entries.get(1).get("found").asBoolean());
+        assertEquals("Happy Tails Shelter", entries.get(1).get("shelter").get("name").asText());
+    }
+
+    @Test
+    void lookup_ShouldAcceptIdsInBody() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(post("/api/shelters/lookup")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(shelterRequest)))
+                        .content("{\"ids\": [99998, 99999]}"))
+                .andExpect(status().isOk())
                 .andReturn();
 
+        JsonNode entries = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(2, entries.size());
+        assertFalse(entries.get(1).get("found").asBoolean());
+    }
+
+    @Test
+    void importShelters_ShouldInsertValidRowsAndReportInvalidOnes() throws Exception {
+        String csv = """
+                name,description,address,latitude,longitude
+                Imported Alpha,"Dogs, cats and more",1 First St,45.4,-75.7
+                ,Missing a name,2 Second St,,
+                Imported Beta,Farm animals,3 Third St,,
+                """;
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/shelters/import")
+                        .header("Authorization", "Bearer " + adminToken())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode result = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(2, result.get("imported").asInt());
+        assertEquals(1, result.get("failed").asInt());
+        assertEquals(3, result.get("errors").get(0).get("line").asLong());
+
+        MvcResult suggestions = mockMvc.perform(get("/api/shelters/suggest").param("prefix", "imported"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertTrue(suggestions.getResponse().getContentAsString().contains("Imported Beta"));
+    }
+
+    @Test
+    void importShelters_ShouldAcceptNdjson() throws Exception {
+        String ndjson = "{\"name\":\"Ndjson Shelter\",\"description\":\"Cats\",\"address\":\"4 Fourth St\"}\n" +
+                "not json\n";
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/shelters/import")
+                        .header("Authorization", "Bearer " + adminToken())
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode result = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(1, result.get("imported").asInt());
+        assertEquals(2, result.get("errors").get(0).get("line").asLong());
+    }
+
+    @Test
+    void findAll_ShouldLinkToNextPage() throws Exception {
+        for (String name : List.of("Alpha Shelter", "Beta Shelter")) {
+            shelterRequest.setName(name);
+            createShelter();
+        }
+
+        MvcResult first = mockMvc.perform(get("/api/shelters").param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String nextCursor = objectMapper.readTree(first.getResponse().getContentAsString()).path("nextCursor").asText();
+        assertTrue(first.getResponse().getContentAsString().contains("Alpha Shelter"));
+        assertTrue(first.getResponse().getHeader("Link").contains("rel=\"next\""));
+
+        MvcResult second = mockMvc.perform(get("/api/shelters").param("size", "1").param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertTrue(second.getResponse().getContentAsString().contains("Beta Shelter"));
+    }
+
+    @Test
+    void findById_ShouldReturnShelter_WhenExists() throws Exception {
+        MvcResult createResult = createShelter();
+
         Long createdId = extractId(createResult.getResponse().getContentAsString());
         assertNotNull(createdId);
 
@@ -127,13 +272,39 @@ class ShelterControllerTest {
     }
 
     @Test
-    void update_ShouldReturnUpdatedShelter_WhenAuthorized() throws Exception {
-        MvcResult createResult = mockMvc.perform(post("/api/shelters")
-                        .header("Authorization", "Bearer " + token)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(shelterRequest)))
+    void findSupport_ShouldNotExposeRevenue() throws Exception {
+        MvcResult createResult = createShelter();
+
+        Long createdId = extractId(createResult.getResponse().getContentAsString());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/shelters/" + createdId + "/support"))
+                .andExpect(status().isOk())
                 .andReturn();
 
+        JsonNode support = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(0, support.get("subscribers").asLong());
+        assertFalse(support.has("monthlyRevenue"));
+    }
+
+    @Test
+    void findRevenue_ShouldReturnRevenueToOwner() throws Exception {
+        MvcResult createResult = createShelter();
+        Long createdId = extractId(createResult.getResponse().getContentAsString());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/shelters/" + createdId + "/revenue")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode revenue = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(createdId, revenue.get("shelterId").asLong());
+        assertEquals(0, revenue.get("subscribers").asLong());
+    }
+
+    @Test
+    void update_ShouldReturnUpdatedShelter_WhenAuthorized() throws Exception {
+        MvcResult createResult = createShelter();
+
         Long createdId = extractId(createResult.getResponse().getContentAsString());
 
         MvcResult mvcResult = mockMvc.perform(put("/api/shelters/" + createdId)
@@ -150,11 +321,7 @@ class ShelterControllerTest {
 
     @Test
     void delete_ShouldReturn204_WhenAuthorized() throws Exception {
-        MvcResult createResult = mockMvc.perform(post("/api/shelters")
-                        .header("Authorization", "Bearer " + token)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(shelterRequest)))
-                .andReturn();
+        MvcResult createResult = createShelter();
 
         Long createdId = extractId(createResult.getResponse().getContentAsString());
 
@@ -172,6 +339,79 @@ class ShelterControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void findRevenue_ShouldReturn401_WhenNoAuthHeader() throws Exception {
+        mockMvc.perform(get("/api/shelters/1/revenue"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void importShelters_ShouldReturn403_WhenNotAdmin() throws Exception {
+        mockMvc.perform(post("/api/shelters/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content("name,description,address\nA,B,C\n"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void importShelters_ShouldReportUnterminatedQuoteAsRowError() throws Exception {
+        String csv = """
+                name,description,address
+                Quoted Alpha,Dogs,1 First St
+                Quoted Beta,"Never closed,2 Second St
+                """;
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/shelters/import")
+                        .header("Authorization", "Bearer " + adminToken())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode result = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(1, result.get("imported").asInt());
+        assertEquals(1, result.get("failed").asInt());
+        assertEquals(3, result.get("errors").get(0).get("line").asLong());
+    }
+
+    @Test
+    void importShelters_ShouldReportNullNdjsonLineAsRowError() throws Exception {
+        String ndjson = "null\n{\"name\":\"Ndjson Shelter\",\"description\":\"Cats\",\"address\":\"4 Fourth St\"}\n";
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/shelters/import")
+                        .header("Authorization", "Bearer " + adminToken())
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode result = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(1, result.get("imported").asInt());
+        assertEquals(1, result.get("errors").get(0).get("line").asLong());
+    }
+
+    @Test
+    void importShelters_ShouldReportConstraintViolationWithoutDatabaseText() throws Exception {
+        // Passes the 500-character request limit but not the 255-character column
+        String csv = "name,description,address\n" +
+                "Long Alpha," + "d".repeat(300) + ",1 First St\n" +
+                "Long Beta,Dogs,2 Second St\n";
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/shelters/import")
+                        .header("Authorization", "Bearer " + adminToken())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode result = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(1, result.get("imported").asInt());
+        assertEquals(2, result.get("errors").get(0).get("line").asLong());
+        assertEquals("Row violates a database constraint, such as a column length",
+                result.get("errors").get(0).get("message").asText());
+    }
+
     @Test
     void findById_ShouldReturn404_WhenNotFound() throws Exception {
         mockMvc.perform(get("/api/shelters/99999")
@@ -196,6 +436,36 @@ class ShelterControllerTest {
     }
 
     // --------------------- UTIL ---------------------
+    private String adminToken() throws Exception {
+        return grantRolesAndLogin(Role.ADMIN);
+    }
+
+    // Changes the test user's roles and logs in again so the new roles are in the token
+    private String grantRolesAndLogin(Role role) throws Exception {
+        User user = userRepository.findByUsername("shelterowner").orElseThrow();
+        user.setRoles(EnumSet.of(role));
+        userRepository.saveAndFlush(user);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("shelterowner");
+        loginRequest.setPassword("password");
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return extractToken(loginResult.getResponse().getContentAsString());
+    }
+
+    private MvcResult createShelter() throws Exception {
+        return mockMvc.perform(post("/api/shelters")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(shelterRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+    }
+
     private String extractToken(String json) {
         try {
             return objectMapper.readTree(json).get("token").asText();
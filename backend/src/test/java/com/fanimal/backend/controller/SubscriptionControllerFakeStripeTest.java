@@ -0,0 +1,228 @@
+package com.fanimal.backend.controller;
+
+import com.fanimal.backend.dto.subscription.SubscriptionRequest;
+import com.fanimal.backend.dto.user.LoginRequest;
+import com.fanimal.backend.dto.user.RegisterRequest;
+import com.fanimal.backend.model.Shelter;
+import com.fanimal.backend.model.Subscription.Tier;
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.IdempotencyRecordRepository;
+import com.fanimal.backend.repository.ShelterRepository;
+import com.fanimal.backend.repository.SubscriptionRepository;
+import com.fanimal.backend.repository.UserRepository;
+import com.fanimal.backend.stripe.FakeStripeServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: subscribe reads on worker threads, which can't see an open test transaction
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "fake-stripe"})
+@TestPropertySource(properties = {"stripe.fake.latency.default=none", "stripe.fake.latency.subscription-create=none"})
+@DisplayName("SubscriptionController Integration Tests with H2 and Fake Stripe")
+class SubscriptionControllerFakeStripeTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShelterRepository shelterRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private FakeStripeServer fakeStripeServer;
+
+    private final List<String> usernames = new ArrayList<>();
+    private String token;
+    private Shelter shelter;
+    private SubscriptionRequest subscriptionRequest;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // A fresh user per test, since rows are deleted rather than rolled back
+        token = registerAndLogin();
+        shelter = shelterRepository.save(Shelter.builder()
+                .name("Happy Tails Shelter")
+                .description("Caring home for rescued animals")
+                .address("123 Animal Ave, Ottawa")
+                .stripeBasicPriceId("price_basic")
+                .stripeStandardPriceId("price_standard")
+                .stripePremiumPriceId("price_premium")
+                .build());
+
+        subscriptionRequest = new SubscriptionRequest();
+        subscriptionRequest.setShelterId(shelter.getId());
+        subscriptionRequest.setTier(Tier.BASIC);
+        subscriptionRequest.setPaymentMethodId("pm_card_visa");
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAll();
+        subscriptionRepository.deleteAll();
+        shelterRepository.delete(shelter);
+        usernames.forEach(username -> userRepository.findByUsername(username).ifPresent(userRepository::delete));
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void subscribe_ShouldCreateCustomerAndSubscriptionThroughStripe() throws Exception {
+        JsonNode response = subscribe(post("/api/subscriptions"));
+
+        assertEquals("INCOMPLETE", response.get("status").asText());
+        assertEquals("BASIC", response.get("tier").asText());
+        assertEquals(shelter.getId(), response.get("shelter").get("id").asLong());
+        User user = userRepository.findByUsername(usernames.get(0)).orElseThrow();
+        assertNotNull(user.getStripeCustomerId());
+        assertEquals(1, subscriptionRepository.count());
+    }
+
+    @Test
+    void subscribe_ShouldReuseStoredCustomerWithoutFetchingIt() throws Exception {
+        subscribe(post("/api/subscriptions"));
+        long created = fakeStripeServer.getRequestCount(FakeStripeServer.Operation.CUSTOMER_CREATE);
+        long retrieved = fakeStripeServer.getRequestCount(FakeStripeServer.Operation.CUSTOMER_RETRIEVE);
+
+        subscriptionRequest.setTier(Tier.PREMIUM);
+        subscribe(post("/api/subscriptions"));
+
+        assertEquals(created, fakeStripeServer.getRequestCount(FakeStripeServer.Operation.CUSTOMER_CREATE));
+        assertEquals(retrieved, fakeStripeServer.getRequestCount(FakeStripeServer.Operation.CUSTOMER_RETRIEVE));
+        assertEquals(2, subscriptionRepository.count());
+    }
+
+    @Test
+    void subscribe_ShouldReplaySameIdempotencyKeyWithoutCallingStripe() throws Exception {
+        JsonNode first = subscribe(post("/api/subscriptions").header("Idempotency-Key", "retry-1"));
+        long subscriptionCreates = fakeStripeServer.getRequestCount(FakeStripeServer.Operation.SUBSCRIPTION_CREATE);
+
+        JsonNode replay = subscribe(post("/api/subscriptions").header("Idempotency-Key", "retry-1"));
+
+        assertEquals(first.get("id").asLong(), replay.get("id").asLong());
+        assertEquals(subscriptionCreates, fakeStripeServer.getRequestCount(FakeStripeServer.Operation.SUBSCRIPTION_CREATE));
+        assertEquals(1, subscriptionRepository.count());
+    }
+
+    @Test
+    void subscribe_ShouldKeepTheSameIdempotencyKeyApartForDifferentUsers() throws Exception {
+        JsonNode first = subscribe(post("/api/subscriptions").header("Idempotency-Key", "shared-1"));
+        token = registerAndLogin();
+
+        JsonNode second = subscribe(post("/api/subscriptions").header("Idempotency-Key", "shared-1"));
+
+        assertNotEquals(first.get("id").asLong(), second.get("id").asLong());
+        assertEquals(2, subscriptionRepository.count());
+    }
+
+    @Test
+    void unsubscribe_ShouldCancelInStripe() throws Exception {
+        JsonNode subscription = subscribe(post("/api/subscriptions"));
+
+        mockMvc.perform(delete("/api/subscriptions/" + subscription.get("id").asLong())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        assertEquals("CANCELED", subscriptionRepository.findById(subscription.get("id").asLong()).orElseThrow().getStatus().name());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void subscribe_ShouldReturn422WhenIdempotencyKeyIsReusedForAnotherRequest() throws Exception {
+        subscribe(post("/api/subscriptions").header("Idempotency-Key", "retry-2"));
+        subscriptionRequest.setTier(Tier.PREMIUM);
+
+        mockMvc.perform(post("/api/subscriptions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(subscriptionRequest)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void subscribe_ShouldReturn404ForUnknownShelterBeforeWritingToStripe() throws Exception {
+        subscriptionRequest.setShelterId(-1L);
+        long created = fakeStripeServer.getRequestCount(FakeStripeServer.Operation.CUSTOMER_CREATE);
+
+        mockMvc.perform(post("/api/subscriptions")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(subscriptionRequest)))
+                .andExpect(status().isNotFound());
+
+        assertEquals(created, fakeStripeServer.getRequestCount(FakeStripeServer.Operation.CUSTOMER_CREATE));
+        assertNull(userRepository.findByUsername(usernames.get(0)).orElseThrow().getStripeCustomerId());
+    }
+
+    private JsonNode subscribe(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(subscriptionRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private String registerAndLogin() throws Exception {
+        String username = "stripesupporter" + USERS.incrementAndGet();
+        usernames.add(username);
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setName("Stripe Supporter");
+        registerRequest.setEmail(username + "@test.com");
+        registerRequest.setUsername(username);
+        registerRequest.setPassword("password");
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(username);
+        loginRequest.setPassword("password");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+        return objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -0,0 +1,195 @@
+package com.fanimal.backend.controller;
+
+import com.fanimal.backend.dto.user.LoginRequest;
+import com.fanimal.backend.dto.user.RegisterRequest;
+import com.fanimal.backend.model.Shelter;
+import com.fanimal.backend.model.Subscription;
+import com.fanimal.backend.model.Subscription.SubscriptionStatus;
+import com.fanimal.backend.model.Subscription.Tier;
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.ShelterRepository;
+import com.fanimal.backend.repository.SubscriptionRepository;
+import com.fanimal.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("SubscriptionController Integration Tests with H2")
+class SubscriptionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShelterRepository shelterRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    private String token;
+    private User user;
+    private Shelter shelter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        token = registerAndLogin("supporter");
+        user = userRepository.findByUsername("supporter").orElseThrow();
+        shelter = shelterRepository.save(Shelter.builder()
+                .name("Happy Tails Shelter")
+                .description("Caring home for rescued animals")
+                .address("123 Animal Ave, Ottawa")
+                .build());
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void findPageByUser_ShouldReturnNewestFirstWithShelterAndWithoutUser() throws Exception {
+        Subscription older = subscribe(user, SubscriptionStatus.ACTIVE, Tier.BASIC);
+        Subscription newer = subscribe(user, SubscriptionStatus.CANCELED, Tier.PREMIUM);
+
+        JsonNode page = getPage(token, "/api/subscriptions");
+
+        JsonNode items = page.get("items");
+        assertEquals(2, items.size());
+        assertEquals(newer.getId(), items.get(0).get("id").asLong());
+        assertEquals(older.getId(), items.get(1).get("id").asLong());
+        assertEquals("Happy Tails Shelter", items.get(0).get("shelter").get("name").asText());
+        assertFalse(items.get(0).has("user"));
+        assertTrue(page.get("nextCursor").isNull());
+    }
+
+    @Test
+    void findPageByUser_ShouldFollowCursorToNextPage() throws Exception {
+        Subscription first = subscribe(user, SubscriptionStatus.ACTIVE, Tier.BASIC);
+        Subscription second = subscribe(user, SubscriptionStatus.ACTIVE, Tier.STANDARD);
+        Subscription third = subscribe(user, SubscriptionStatus.ACTIVE, Tier.PREMIUM);
+
+        JsonNode firstPage = getPage(token, "/api/subscriptions?size=2");
+        assertEquals(third.getId(), firstPage.get("items").get(0).get("id").asLong());
+        assertEquals(second.getId(), firstPage.get("items").get(1).get("id").asLong());
+
+        JsonNode secondPage = getPage(token, "/api/subscriptions?size=2&cursor=" + firstPage.get("nextCursor").asText());
+        assertEquals(1, secondPage.get("items").size());
+        assertEquals(first.getId(), secondPage.get("items").get(0).get("id").asLong());
+        assertTrue(secondPage.get("nextCursor").isNull());
+    }
+
+    @Test
+    void findPageByUser_ShouldFilterByStatus() throws Exception {
+        Subscription active = subscribe(user, SubscriptionStatus.ACTIVE, Tier.BASIC);
+        subscribe(user, SubscriptionStatus.CANCELED, Tier.BASIC);
+        Subscription trialing = subscribe(user, SubscriptionStatus.TRIALING, Tier.BASIC);
+
+        JsonNode page = getPage(token, "/api/subscriptions?status=active,trialing");
+
+        JsonNode items = page.get("items");
+        assertEquals(2, items.size());
+        assertEquals(trialing.getId(), items.get(0).get("id").asLong());
+        assertEquals(active.getId(), items.get(1).get("id").asLong());
+    }
+
+    @Test
+    void findPageByUser_ShouldOnlyListThePrincipalsSubscriptions() throws Exception {
+        String otherToken = registerAndLogin("othersupporter");
+        subscribe(userRepository.findByUsername("othersupporter").orElseThrow(), SubscriptionStatus.ACTIVE, Tier.BASIC);
+        Subscription own = subscribe(user, SubscriptionStatus.ACTIVE, Tier.BASIC);
+
+        JsonNode page = getPage(token, "/api/subscriptions");
+
+        assertEquals(1, page.get("items").size());
+        assertEquals(own.getId(), page.get("items").get(0).get("id").asLong());
+        assertEquals(1, getPage(otherToken, "/api/subscriptions").get("items").size());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void findPageByUser_ShouldReturn400ForUnknownStatus() throws Exception {
+        mockMvc.perform(get("/api/subscriptions?status=paused")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findPageByUser_ShouldReturn400ForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/subscriptions?cursor=not-a-cursor")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findPageByUser_ShouldReturn401WithoutToken() throws Exception {
+        mockMvc.perform(get("/api/subscriptions"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private Subscription subscribe(User subscriber, SubscriptionStatus status, Tier tier) {
+        return subscriptionRepository.save(Subscription.builder()
+                .user(subscriber)
+                .shelter(shelter)
+                .tier(tier)
+                .status(status)
+                .startDate(LocalDate.now())
+                .stripeSubscriptionId("sub_" + subscriber.getUsername() + "_" + System.nanoTime())
+                .build());
+    }
+
+    private JsonNode getPage(String bearer, String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + bearer))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private String registerAndLogin(String username) throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setName("Supporter");
+        registerRequest.setEmail(username + "@test.com");
+        registerRequest.setUsername(username);
+        registerRequest.setPassword("password");
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(username);
+        loginRequest.setPassword("password");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+        return objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("token").asText();
+    }
+}
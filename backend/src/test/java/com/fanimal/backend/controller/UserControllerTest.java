@@ -105,6 +105,50 @@ class UserControllerTest {
         assertTrue(content.contains("user@test.com"));
     }
 
+    @Test
+    @DisplayName("GET /api/users/me → should return 304 when ETag matches")
+    void getCurrentUser_ShouldReturn304_WhenETagMatches() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        assertEquals(1, first.getResponse().getHeaders("ETag").size());
+
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/me → should return new ETag after update")
+    void getCurrentUser_ShouldReturnNewETag_AfterUpdate() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        UserUpdateRequest updateRequest = new UserUpdateRequest();
+        updateRequest.setName("Renamed User");
+        mockMvc.perform(put("/api/users/me")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        MvcResult second = mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(etag, second.getResponse().getHeader("ETag"));
+        assertEquals(1, second.getResponse().getHeaders("ETag").size());
+        assertTrue(second.getResponse().getContentAsString().contains("Renamed User"));
+    }
+
     @Test
     @DisplayName("PUT /api/users/me → should update current user")
     void updateCurrentUser_ShouldReturn200AndUpdatedData() throws Exception {
@@ -0,0 +1,48 @@
+package com.fanimal.backend.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CalibratedPasswordEncoder Unit Tests")
+class CalibratedPasswordEncoderTest {
+
+    private final CalibratedPasswordEncoder passwordEncoder = new CalibratedPasswordEncoder(5);
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void matchesShouldVerifyOwnHashes() {
+        String encoded = passwordEncoder.encode("password");
+
+        assertTrue(passwordEncoder.matches("password", encoded));
+        assertFalse(passwordEncoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    void upgradeEncodingShouldFlagLowerCost() {
+        assertTrue(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+    }
+
+    @Test
+    void calibrateShouldStayWithinBounds() {
+        int strength = CalibratedPasswordEncoder.calibrate(0);
+
+        assertEquals(CalibratedPasswordEncoder.MIN_STRENGTH, strength);
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void upgradeEncodingShouldNotDowngradeHigherCost() {
+        assertFalse(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+    }
+
+    @Test
+    void upgradeEncodingShouldIgnoreNonBcryptValues() {
+        assertFalse(passwordEncoder.upgradeEncoding(null));
+        assertFalse(passwordEncoder.upgradeEncoding("plaintext"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.fanimal.backend.security;
+
+import com.fanimal.backend.dto.user.UserResponse;
+import com.fanimal.backend.model.Role;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtUtils Unit Tests")
+class JwtUtilsTest {
+
+    private JwtUtils jwtUtils;
+    private UserResponse userResponse;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secret", "testsecret1234567890testsecret1234567890");
+        ReflectionTestUtils.setField(jwtUtils, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtils, "refreshExpiration", 604_800_000L);
+        jwtUtils.init();
+        userResponse = UserResponse.builder()
+                .id(7L)
+                .username("username")
+                .roles(Set.of(Role.USER, Role.ADMIN))
+                .build();
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void parseTokenShouldReturnIssuedClaims() {
+        String token = jwtUtils.generateToken(userResponse, 4L);
+
+        TokenClaims claims = jwtUtils.parseToken(token);
+
+        assertEquals("username", claims.subject());
+        assertEquals(7L, claims.userId());
+        assertEquals(4L, claims.securityEpoch());
+        assertEquals(Role.toMask(Set.of(Role.USER, Role.ADMIN)), claims.roleMask());
+        assertTrue(claims.expiresAt() > System.currentTimeMillis());
+    }
+
+    @Test
+    void getPrincipalShouldMapRolesToAuthorities() {
+        TokenClaims claims = jwtUtils.parseToken(jwtUtils.generateToken(userResponse, 0L));
+
+        UserDetails principal = jwtUtils.getPrincipal(claims);
+
+        assertEquals("username", principal.getUsername());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void generateRefreshTokenShouldBeMarkedAsRefresh() {
+        TokenClaims access = jwtUtils.parseToken(jwtUtils.generateToken(userResponse, 0L));
+        TokenClaims refresh = jwtUtils.parseToken(jwtUtils.generateRefreshToken(userResponse, 0L));
+
+        assertFalse(access.refresh());
+        assertTrue(refresh.refresh());
+        assertEquals(0, refresh.roleMask());
+        assertNotNull(refresh.tokenId());
+        assertNotEquals(access.tokenId(), refresh.tokenId());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void parseTokenShouldRejectTamperedToken() {
+        String token = jwtUtils.generateToken(userResponse, 0L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtils.parseToken(tampered));
+    }
+
+    @Test
+    void parseTokenShouldRejectTokenWithoutUserIdOrEpoch() {
+        // Shaped like a token issued before uid/ep were added
+        String legacy = Jwts.builder()
+                .id("legacy")
+                .subject("username")
+                .claim(JwtUtils.ROLES, Role.toMask(Set.of(Role.USER)))
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("testsecret1234567890testsecret1234567890".getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(JwtException.class, () -> jwtUtils.parseToken(legacy));
+    }
+}
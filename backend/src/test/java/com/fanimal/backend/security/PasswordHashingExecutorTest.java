@@ -0,0 +1,114 @@
+package com.fanimal.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHashingExecutor Unit Tests")
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingExecutor = new PasswordHashingExecutor(1, 1, 5000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void executeShouldReturnTaskResult() {
+        assertEquals("hash", passwordHashingExecutor.execute(() -> "hash"));
+        assertEquals(1, meterRegistry.get("password.hashing.wait").timer().count());
+    }
+
+    @Test
+    void queueCapacityForShouldFitWhatThePoolFinishesWithinTheTimeout() {
+        assertEquals(100, PasswordHashingExecutor.queueCapacityFor(5000, 100, 2));
+        assertEquals(1, PasswordHashingExecutor.queueCapacityFor(100, 500, 1));
+        assertEquals(PasswordHashingExecutor.MAX_QUEUE_CAPACITY, PasswordHashingExecutor.queueCapacityFor(5000, 0, 4));
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void executeShouldRethrowTaskException() {
+        assertThrows(BadCredentialsException.class, () -> passwordHashingExecutor.execute(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        }));
+    }
+
+    @Test
+    void executeShouldReturn503WhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHashingExecutor.execute(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHashingExecutor.execute(() -> "queued"));
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> passwordHashingExecutor.execute(() -> "rejected"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        release.countDown();
+        assertEquals("running", running.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void executeShouldFreeTheQueueSlotOfATimedOutTask() throws Exception {
+        passwordHashingExecutor.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingExecutor = new PasswordHashingExecutor(1, 1, 100, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> passwordHashingExecutor.execute(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        ResponseStatusException timedOut = assertThrows(ResponseStatusException.class,
+                () -> passwordHashingExecutor.execute(() -> "timed out"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, timedOut.getStatusCode());
+        // The hash that was running keeps its thread, but the one that never started no longer holds the queue
+        assertEquals(0, meterRegistry.get("password.hashing.queue.size").gauge().value());
+        assertEquals(1, meterRegistry.get("password.hashing.active").gauge().value());
+        release.countDown();
+    }
+
+    // --------------------- UTIL ---------------------
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
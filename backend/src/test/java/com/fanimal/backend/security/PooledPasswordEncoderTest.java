@@ -0,0 +1,69 @@
+package com.fanimal.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PooledPasswordEncoder Unit Tests")
+class PooledPasswordEncoderTest {
+
+    private final AtomicReference<String> hashingThread = new AtomicReference<>();
+    private PooledPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        CalibratedPasswordEncoder delegate = new CalibratedPasswordEncoder(4);
+        PasswordEncoder recording = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThread.set(Thread.currentThread().getName());
+                return delegate.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                hashingThread.set(Thread.currentThread().getName());
+                return delegate.matches(rawPassword, encodedPassword);
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return delegate.upgradeEncoding(encodedPassword);
+            }
+        };
+        passwordEncoder = new PooledPasswordEncoder(recording, new PasswordHashingExecutor(1, 1, 5000, new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void encodeAndMatchesShouldRunOnTheHashingPool() {
+        String encoded = passwordEncoder.encode("password");
+        assertTrue(hashingThread.get().startsWith("password-hashing-"));
+        hashingThread.set(null);
+
+        assertTrue(passwordEncoder.matches("password", encoded));
+        assertTrue(hashingThread.get().startsWith("password-hashing-"));
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void matchesShouldRejectWrongPassword() {
+        String encoded = passwordEncoder.encode("password");
+
+        assertFalse(passwordEncoder.matches("wrong", encoded));
+    }
+}
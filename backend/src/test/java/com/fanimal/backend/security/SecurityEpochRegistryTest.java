@@ -0,0 +1,103 @@
+package com.fanimal.backend.security;
+
+import com.fanimal.backend.model.Role;
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SecurityEpochRegistry Unit Tests")
+class SecurityEpochRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SecurityEpochRegistry securityEpochRegistry;
+
+    @BeforeEach
+    void setUp() {
+        securityEpochRegistry = new SecurityEpochRegistry(userRepository, 60_000);
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void isCurrentShouldLoadStampOnlyOnce() {
+        when(userRepository.findStampByUsername("username")).thenReturn(Optional.of(new SecurityStamp(1L, 0L)));
+
+        assertTrue(securityEpochRegistry.isCurrent("username", 1L, 0L));
+        assertTrue(securityEpochRegistry.isCurrent("username", 1L, 0L));
+
+        verify(userRepository, times(1)).findStampByUsername("username");
+    }
+
+    @Test
+    void setRolesShouldBumpEpochOnlyWhenRolesChange() {
+        User user = User.builder().id(1L).username("username").roles(Set.of(Role.USER)).build();
+
+        user.setRoles(Set.of(Role.USER));
+        assertEquals(0L, user.getSecurityEpoch());
+
+        user.setRoles(Set.of(Role.USER, Role.ADMIN));
+        assertEquals(1L, user.getSecurityEpoch());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void isCurrentShouldRejectEpochBumpedOnAnotherNodeOnceStampExpires() {
+        securityEpochRegistry = new SecurityEpochRegistry(userRepository, 0);
+        when(userRepository.findStampByUsername("username"))
+                .thenReturn(Optional.of(new SecurityStamp(1L, 0L)))
+                .thenReturn(Optional.of(new SecurityStamp(1L, 1L)));
+
+        assertTrue(securityEpochRegistry.isCurrent("username", 1L, 0L));
+        assertFalse(securityEpochRegistry.isCurrent("username", 1L, 0L));
+    }
+
+    @Test
+    void isCurrentShouldRejectUserDeletedOnAnotherNodeOnceStampExpires() {
+        securityEpochRegistry = new SecurityEpochRegistry(userRepository, 0);
+        when(userRepository.findStampByUsername("username"))
+                .thenReturn(Optional.of(new SecurityStamp(1L, 0L)))
+                .thenReturn(Optional.empty());
+
+        assertTrue(securityEpochRegistry.isCurrent("username", 1L, 0L));
+        assertFalse(securityEpochRegistry.isCurrent("username", 1L, 0L));
+    }
+
+    @Test
+    void isCurrentShouldRejectUnknownUser() {
+        when(userRepository.findStampByUsername("username")).thenReturn(Optional.empty());
+
+        assertFalse(securityEpochRegistry.isCurrent("username", 1L, 0L));
+    }
+
+    @Test
+    void isCurrentShouldRejectStaleEpoch() {
+        when(userRepository.findStampByUsername("username")).thenReturn(Optional.of(new SecurityStamp(1L, 2L)));
+
+        assertFalse(securityEpochRegistry.isCurrent("username", 1L, 1L));
+    }
+
+    @Test
+    void isCurrentShouldRejectRevokedUserWithoutQuery() {
+        User user = User.builder().id(1L).username("username").build();
+
+        securityEpochRegistry.revoke(user);
+
+        assertFalse(securityEpochRegistry.isCurrent("username", 1L, 0L));
+        verify(userRepository, never()).findStampByUsername(any());
+    }
+}
@@ -0,0 +1,104 @@
+package com.fanimal.backend.security;
+
+import com.fanimal.backend.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Unit Tests")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, 1_000, 0.001, 5_000, 100, new SimpleMeterRegistry());
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void revokeShouldPersistAndRejectWithoutQuery() {
+        tokenRevocationService.revoke("jti", System.currentTimeMillis() + 60_000);
+
+        assertTrue(tokenRevocationService.isRevoked("jti"));
+        verify(revokedTokenRepository, times(1)).insert(eq("jti"), any(), any());
+        verify(revokedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    void claimShouldSucceedOnceWhenInsertLands() {
+        when(revokedTokenRepository.insert(eq("jti"), any(), any())).thenReturn(1);
+
+        assertTrue(tokenRevocationService.claim("jti", System.currentTimeMillis() + 60_000));
+        assertTrue(tokenRevocationService.isRevoked("jti"));
+    }
+
+    @Test
+    void syncDeltaShouldPickUpRevocationsFromOtherNodes() {
+        when(revokedTokenRepository.findJtisRevokedSince(any(), any())).thenReturn(List.of("remote"));
+
+        tokenRevocationService.syncDelta();
+
+        assertTrue(tokenRevocationService.isRevoked("remote"));
+        verify(revokedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    void rebuildShouldLoadActiveRevocations() {
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of("jti"));
+        when(revokedTokenRepository.existsById("jti")).thenReturn(true);
+
+        tokenRevocationService.rebuild();
+
+        verify(revokedTokenRepository, times(1)).deleteExpired(any());
+        assertTrue(tokenRevocationService.isRevoked("jti"));
+        assertTrue(tokenRevocationService.isRevoked("jti"));
+        // The filter hit is confirmed once, then answered from memory
+        verify(revokedTokenRepository, times(1)).existsById("jti");
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void isRevokedShouldSkipDatabaseForUnknownToken() {
+        assertFalse(tokenRevocationService.isRevoked("jti"));
+
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void claimShouldFailWhenAnotherNodeAlreadyClaimed() {
+        when(revokedTokenRepository.insert(eq("jti"), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        assertFalse(tokenRevocationService.claim("jti", System.currentTimeMillis() + 60_000));
+        // Still marked revoked locally, so the access-token path rejects it without a query
+        assertTrue(tokenRevocationService.isRevoked("jti"));
+        verify(revokedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    void revokeShouldIgnoreExpiredToken() {
+        tokenRevocationService.revoke("jti", System.currentTimeMillis() - 1);
+
+        verify(revokedTokenRepository, never()).insert(any(), any(), any());
+        assertFalse(tokenRevocationService.isRevoked("jti"));
+    }
+}
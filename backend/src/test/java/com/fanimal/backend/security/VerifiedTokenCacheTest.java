@@ -0,0 +1,76 @@
+package com.fanimal.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VerifiedTokenCache Unit Tests")
+class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+    private UserDetails principal;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(2, meterRegistry);
+        principal = User.withUsername("username").password("").roles("USER").build();
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void getShouldReturnCachedPrincipal() {
+        verifiedTokenCache.put("token", claimsExpiringIn(60_000), principal);
+
+        VerifiedTokenCache.VerifiedToken cached = verifiedTokenCache.get("token");
+
+        assertNotNull(cached);
+        assertEquals("username", cached.principal().getUsername());
+        assertEquals(1.0, meterRegistry.get("jwt.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void putShouldStayWithinMaxSize() {
+        verifiedTokenCache.put("token1", claimsExpiringIn(60_000), principal);
+        verifiedTokenCache.put("token2", claimsExpiringIn(60_000), principal);
+        verifiedTokenCache.put("token3", claimsExpiringIn(60_000), principal);
+
+        assertEquals(2.0, meterRegistry.get("jwt.cache.size").gauge().value());
+        assertNotNull(verifiedTokenCache.get("token3"));
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void getShouldMissForUnknownToken() {
+        assertNull(verifiedTokenCache.get("unknown"));
+        assertEquals(1.0, meterRegistry.get("jwt.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void putShouldIgnoreExpiredToken() {
+        verifiedTokenCache.put("token", claimsExpiringIn(-1_000), principal);
+
+        assertNull(verifiedTokenCache.get("token"));
+    }
+
+    @Test
+    void evictShouldRemoveToken() {
+        verifiedTokenCache.put("token", claimsExpiringIn(60_000), principal);
+        verifiedTokenCache.evict("token");
+
+        assertNull(verifiedTokenCache.get("token"));
+    }
+
+    // --------------------- UTIL ---------------------
+    private TokenClaims claimsExpiringIn(long millis) {
+        return new TokenClaims("jti", "username", 1L, 0L, 1, false, System.currentTimeMillis() + millis);
+    }
+}
@@ -3,24 +3,31 @@ package com.fanimal.backend.service;
 import com.fanimal.backend.dto.user.*;
 import com.fanimal.backend.model.Role;
 import com.fanimal.backend.model.User;
-import com.fanimal.backend.repository.RoleRepository;
 import com.fanimal.backend.repository.UserRepository;
 import com.fanimal.backend.security.JwtUtils;
+import com.fanimal.backend.security.TokenClaims;
+import com.fanimal.backend.security.TokenRevocationService;
+import com.fanimal.backend.security.UserPrincipal;
+import com.fanimal.backend.security.VerifiedTokenCache;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,23 +41,28 @@ class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private RoleRepository roleRepository;
-    @Mock
     private PasswordEncoder passwordEncoder;
     @Mock
     private JwtUtils jwtUtils;
     @Mock
     private AuthenticationManager authenticationManager;
     @Mock
-    private Authentication authMock;
+    private TokenRevocationService tokenRevocationService;
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+    @Mock
+    private UserAvailabilityIndex userAvailabilityIndex;
     @Mock
-    private UserDetails userDetailsMock;
+    private UserVersionCache userVersionCache;
+    @Mock
+    private Authentication authMock;
 
     private static RegisterRequest registerRequest;
     private static LoginRequest loginRequest;
     private static User savedUser;
 
     public static final String TOKEN = "token";
+    public static final String REFRESH_TOKEN = "refreshToken";
 
     @BeforeAll
     static void beforeAll() {
@@ -76,22 +88,16 @@ class AuthServiceTest {
 
     @BeforeEach
     void setupMocks() {
-        lenient().when(userDetailsMock.getUsername()).thenReturn(registerRequest.getUsername());
-        lenient().when(authMock.getPrincipal()).thenReturn(userDetailsMock);
+        lenient().when(authMock.getPrincipal()).thenReturn(new UserPrincipal(savedUser, List.of()));
     }
 
     // --------------------- POSITIVE TESTS ---------------------
 
     @Test
     void register() {
-        Role role = Role.builder().name(Role.RoleName.USER).build();
-
-        when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
-        when(userRepository.existsByUsername(registerRequest.getUsername())).thenReturn(false);
-        when(roleRepository.findByName(Role.RoleName.USER)).thenReturn(Optional.of(role));
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
-        when(jwtUtils.generateToken(any(UserResponse.class))).thenReturn(TOKEN);
+        when(jwtUtils.generateToken(any(UserResponse.class), anyLong())).thenReturn(TOKEN);
 
         JwtResponse jwtResponse = authService.register(registerRequest);
 
@@ -101,15 +107,15 @@ class AuthServiceTest {
         assertEquals(registerRequest.getEmail(), jwtResponse.getUser().getEmail());
         assertEquals(registerRequest.getUsername(), jwtResponse.getUser().getUsername());
 
-        Mockito.verify(userRepository, times(1)).save(any(User.class));
-        Mockito.verify(jwtUtils, times(1)).generateToken(any(UserResponse.class));
+        Mockito.verify(userRepository, times(1)).save(argThat(user -> user.getRoles().equals(Set.of(Role.USER))));
+        Mockito.verify(userAvailabilityIndex, times(1)).add(savedUser);
+        Mockito.verify(jwtUtils, times(1)).generateToken(any(UserResponse.class), anyLong());
     }
 
     @Test
     void login() {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authMock);
-        when(userRepository.findByUsername(registerRequest.getUsername())).thenReturn(Optional.of(savedUser));
-        when(jwtUtils.generateToken(any(UserResponse.class))).thenReturn(TOKEN);
+        when(jwtUtils.generateToken(any(UserResponse.class), anyLong())).thenReturn(TOKEN);
 
         JwtResponse jwtResponse = authService.login(loginRequest);
 
@@ -120,8 +126,19 @@ class AuthServiceTest {
         assertEquals(registerRequest.getUsername(), jwtResponse.getUser().getUsername());
 
         Mockito.verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        Mockito.verify(userRepository, times(1)).findByUsername(registerRequest.getUsername());
-        Mockito.verify(jwtUtils, times(1)).generateToken(any(UserResponse.class));
+        Mockito.verify(userRepository, never()).findByUsername(any());
+        Mockito.verify(jwtUtils, times(1)).generateToken(any(UserResponse.class), anyLong());
+    }
+
+    @Test
+    void checkAvailabilityShouldOnlyAnswerRequestedFields() {
+        when(userAvailabilityIndex.isUsernameAvailable("username")).thenReturn(false);
+
+        AvailabilityResponse availabilityResponse = authService.checkAvailability("username", null);
+
+        assertFalse(availabilityResponse.getUsernameAvailable());
+        assertNull(availabilityResponse.getEmailAvailable());
+        Mockito.verify(userAvailabilityIndex, never()).isEmailAvailable(any());
     }
 
     @Test
@@ -138,43 +155,118 @@ class AuthServiceTest {
         Mockito.verify(userRepository, times(1)).findByUsername(registerRequest.getUsername());
     }
 
+    @Test
+    void refreshShouldRotateRefreshToken() {
+        TokenClaims claims = new TokenClaims("jti", "username", 1L, 0L, 0, true, System.currentTimeMillis() + 60_000);
+        when(jwtUtils.parseToken(REFRESH_TOKEN)).thenReturn(claims);
+        when(tokenRevocationService.claim("jti", claims.expiresAt())).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(savedUser));
+        when(jwtUtils.generateToken(any(UserResponse.class), anyLong())).thenReturn(TOKEN);
+        when(jwtUtils.generateRefreshToken(any(UserResponse.class), anyLong())).thenReturn("rotated");
+
+        JwtResponse jwtResponse = authService.refresh(REFRESH_TOKEN);
+
+        assertEquals(TOKEN, jwtResponse.getToken());
+        assertEquals("rotated", jwtResponse.getRefreshToken());
+        Mockito.verify(tokenRevocationService, times(1)).claim("jti", claims.expiresAt());
+    }
+
+    @Test
+    void logoutShouldRevokeBothTokens() {
+        TokenClaims access = new TokenClaims("access", "username", 1L, 0L, 1, false, System.currentTimeMillis() + 60_000);
+        TokenClaims refresh = new TokenClaims("refresh", "username", 1L, 0L, 0, true, System.currentTimeMillis() + 60_000);
+        when(jwtUtils.parseToken(TOKEN)).thenReturn(access);
+        when(jwtUtils.parseToken(REFRESH_TOKEN)).thenReturn(refresh);
+
+        authService.logout(TOKEN, REFRESH_TOKEN);
+
+        Mockito.verify(tokenRevocationService, times(1)).revoke("access", access.expiresAt());
+        Mockito.verify(tokenRevocationService, times(1)).revoke("refresh", refresh.expiresAt());
+        Mockito.verify(verifiedTokenCache, times(1)).evict(TOKEN);
+    }
+
     // --------------------- NEGATIVE TESTS ---------------------
 
     @Test
     void registerShouldReturn409WhenEmailAlreadyInUse() {
-        when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("duplicate key value violates unique constraint \"uk_users_email\"")));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> authService.register(registerRequest));
 
         assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
-        Mockito.verify(userRepository, never()).save(any());
-        Mockito.verify(jwtUtils, never()).generateToken(any());
+        assertEquals("Email already exists", exception.getReason());
+        Mockito.verify(userRepository, never()).existsByEmail(any());
+        Mockito.verify(jwtUtils, never()).generateToken(any(), anyLong());
     }
 
     @Test
     void registerShouldReturn409WhenUsernameAlreadyInUse() {
-        when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
-        when(userRepository.existsByUsername(registerRequest.getUsername())).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("duplicate key value violates unique constraint \"uk_users_username\"")));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> authService.register(registerRequest));
 
         assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
-        Mockito.verify(userRepository, never()).save(any());
-        Mockito.verify(jwtUtils, never()).generateToken(any());
+        assertEquals("Username already exists", exception.getReason());
+        Mockito.verify(userRepository, never()).existsByUsername(any());
+        Mockito.verify(jwtUtils, never()).generateToken(any(), anyLong());
     }
 
     @Test
-    void loginShouldReturn404WhenUserNotFound() {
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authMock);
-        when(userRepository.findByUsername(registerRequest.getUsername())).thenReturn(Optional.empty());
+    void loginShouldPropagateBadCredentials() {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> authService.login(loginRequest));
+
+        Mockito.verify(jwtUtils, never()).generateToken(any(), anyLong());
+    }
+
+    @Test
+    void refreshShouldReturn401WhenGivenAccessToken() {
+        when(jwtUtils.parseToken(TOKEN)).thenReturn(new TokenClaims("jti", "username", 1L, 0L, 1, false, System.currentTimeMillis() + 60_000));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> authService.login(loginRequest));
+                () -> authService.refresh(TOKEN));
 
-        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
-        Mockito.verify(jwtUtils, never()).generateToken(any());
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        Mockito.verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void refreshShouldReturn401WhenTokenIsMissingClaims() {
+        when(jwtUtils.parseToken(REFRESH_TOKEN)).thenThrow(new MalformedJwtException("Token is missing required claims"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> authService.refresh(REFRESH_TOKEN));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        Mockito.verify(tokenRevocationService, never()).claim(any(), anyLong());
+    }
+
+    @Test
+    void refreshShouldReturn401WhenAlreadyClaimed() {
+        TokenClaims claims = new TokenClaims("jti", "username", 1L, 0L, 0, true, System.currentTimeMillis() + 60_000);
+        when(jwtUtils.parseToken(REFRESH_TOKEN)).thenReturn(claims);
+        when(tokenRevocationService.claim("jti", claims.expiresAt())).thenReturn(false);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> authService.refresh(REFRESH_TOKEN));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        Mockito.verify(jwtUtils, never()).generateRefreshToken(any(), anyLong());
+        Mockito.verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void checkAvailabilityShouldReturn400WhenNothingRequested() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> authService.checkAvailability(" ", null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
     }
 
     @Test
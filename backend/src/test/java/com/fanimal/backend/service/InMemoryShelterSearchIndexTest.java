@@ -0,0 +1,75 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.model.Shelter;
+import com.fanimal.backend.repository.ShelterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryShelterSearchIndex Unit Tests")
+class InMemoryShelterSearchIndexTest {
+
+    @Mock
+    private ShelterRepository shelterRepository;
+
+    private InMemoryShelterSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new InMemoryShelterSearchIndex(shelterRepository);
+        searchIndex.index(shelter(1L, "Ottawa Cat Rescue", "Cats and kittens", "12 Bank St, Ottawa"));
+        searchIndex.index(shelter(2L, "Happy Tails", "Dogs rescued from Ottawa streets", "5 Main St, Toronto"));
+        searchIndex.index(shelter(3L, "Farm Friends", "Horses and goats", "Rural Rd, Kingston"));
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void searchShouldRankNameMatchesFirst() {
+        List<ShelterResponse> results = searchIndex.search("ottawa", 0, 10);
+
+        assertEquals(List.of(1L, 2L), results.stream().map(ShelterResponse::getId).toList());
+    }
+
+    @Test
+    void searchShouldRequireEveryTerm() {
+        List<ShelterResponse> results = searchIndex.search("Ottawa dogs", 0, 10);
+
+        assertEquals(List.of(2L), results.stream().map(ShelterResponse::getId).toList());
+    }
+
+    @Test
+    void indexShouldReplacePreviousTerms() {
+        searchIndex.index(shelter(3L, "Farm Friends", "Llamas", "Rural Rd, Kingston"));
+
+        assertTrue(searchIndex.search("goats", 0, 10).isEmpty());
+        assertEquals(1, searchIndex.search("llamas", 0, 10).size());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void searchShouldNotReturnRemovedShelter() {
+        searchIndex.remove(1L);
+
+        assertEquals(List.of(2L), searchIndex.search("ottawa", 0, 10).stream().map(ShelterResponse::getId).toList());
+    }
+
+    @Test
+    void searchShouldReturnEmptyForPunctuationOnlyQuery() {
+        assertTrue(searchIndex.search("!!", 0, 10).isEmpty());
+    }
+
+    private static Shelter shelter(Long id, String name, String description, String address) {
+        return Shelter.builder().id(id).name(name).description(description).address(address).build();
+    }
+}
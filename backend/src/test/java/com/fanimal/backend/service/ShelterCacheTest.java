@@ -0,0 +1,123 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterPageResponse;
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShelterCache Unit Tests")
+class ShelterCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ShelterCache shelterCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        shelterCache = new ShelterCache(2, 60_000, meterRegistry);
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void getShelterShouldLoadOnceAndReportHitRatio() {
+        AtomicInteger loads = new AtomicInteger();
+
+        shelterCache.getShelter(1L, () -> shelter(1L, "Shelter " + loads.incrementAndGet()));
+        ShelterResponse cached = shelterCache.getShelter(1L, () -> shelter(1L, "Shelter " + loads.incrementAndGet()));
+
+        assertEquals("Shelter 1", cached.getName());
+        assertEquals(1, loads.get());
+        assertEquals(0.5, meterRegistry.get("shelters.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void invalidateShouldDropShelterAndAllPages() {
+        AtomicInteger loads = new AtomicInteger();
+        shelterCache.getShelter(1L, () -> shelter(1L, "Shelter"));
+        shelterCache.getPage("name 20 null", () -> new ShelterPageResponse(List.of(), null));
+
+        shelterCache.invalidate(1L);
+        shelterCache.getShelter(1L, () -> shelter(1L, "Shelter " + loads.incrementAndGet()));
+        shelterCache.getPage("name 20 null", () -> {
+            loads.incrementAndGet();
+            return new ShelterPageResponse(List.of(), null);
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getShelterShouldEvictLeastRecentlyUsed() {
+        AtomicInteger loads = new AtomicInteger();
+        shelterCache.getShelter(1L, () -> shelter(1L, "One"));
+        shelterCache.getShelter(2L, () -> shelter(2L, "Two"));
+        shelterCache.getShelter(1L, () -> shelter(1L, "One"));
+        shelterCache.getShelter(3L, () -> shelter(3L, "Three"));
+
+        shelterCache.getShelter(1L, () -> shelter(1L, "One " + loads.incrementAndGet()));
+        shelterCache.getShelter(2L, () -> shelter(2L, "Two " + loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getSheltersShouldLoadOnlyMissesInOneCall() {
+        shelterCache.getShelter(1L, () -> shelter(1L, "One"));
+        List<List<Long>> loads = new ArrayList<>();
+
+        Map<Long, ShelterResponse> shelters = shelterCache.getShelters(List.of(1L, 2L, 3L), ids -> {
+            loads.add(List.copyOf(ids));
+            return List.of(shelter(2L, "Two"));
+        });
+
+        assertEquals(List.of(List.of(2L, 3L)), loads);
+        assertEquals(Set.of(1L, 2L), shelters.keySet());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void getShelterShouldNotCacheLoadThatRacedWithInvalidation() {
+        shelterCache.getShelter(1L, () -> {
+            // An update lands while the stale row is being read
+            shelterCache.invalidate(1L);
+            return shelter(1L, "Stale");
+        });
+
+        ShelterResponse response = shelterCache.getShelter(1L, () -> shelter(1L, "Fresh"));
+
+        assertEquals("Fresh", response.getName());
+    }
+
+    @Test
+    void getShelterShouldReloadExpiredEntries() {
+        ShelterCache expiring = new ShelterCache(2, 0, meterRegistry);
+        expiring.getShelter(1L, () -> shelter(1L, "Old"));
+
+        assertEquals("New", expiring.getShelter(1L, () -> shelter(1L, "New")).getName());
+    }
+
+    @Test
+    void getShelterShouldNotCacheFailedLoads() {
+        assertThrows(IllegalStateException.class, () -> shelterCache.getShelter(1L, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("Shelter", shelterCache.getShelter(1L, () -> shelter(1L, "Shelter")).getName());
+    }
+
+    private static ShelterResponse shelter(Long id, String name) {
+        return ShelterResponse.builder().id(id).name(name).build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterPageResponse;
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShelterCatalogSnapshot Unit Tests")
+class ShelterCatalogSnapshotTest {
+
+    @Mock
+    private ShelterService shelterService;
+
+    private ShelterCatalogSnapshot shelterCatalogSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        shelterCatalogSnapshot = new ShelterCatalogSnapshot(shelterService, new ObjectMapper(), false, new SimpleMeterRegistry());
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void getShouldBuildJsonAndMatchingGzip() throws IOException {
+        when(shelterService.findPage(ShelterService.SORT_BY_NAME, null, ShelterService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page("Happy Tails"));
+
+        ShelterCatalogSnapshot.Snapshot snapshot = shelterCatalogSnapshot.get();
+
+        assertTrue(new String(snapshot.json()).contains("Happy Tails"));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertArrayEquals(snapshot.json(), gzip.readAllBytes());
+        }
+        assertNotEquals(snapshot.etag(), snapshot.gzipEtag());
+    }
+
+    @Test
+    void onShelterChangedShouldRebuildWithNewEtag() {
+        when(shelterService.findPage(ShelterService.SORT_BY_NAME, null, ShelterService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page("Happy Tails"), page("Happy Paws"));
+        ShelterCatalogSnapshot.Snapshot before = shelterCatalogSnapshot.get();
+
+        shelterCatalogSnapshot.onShelterChanged(new ShelterChangedEvent(1L));
+        ShelterCatalogSnapshot.Snapshot after = shelterCatalogSnapshot.get();
+
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(before.version() + 1, after.version());
+    }
+
+    @Test
+    void refreshShouldPickUpChangesMadeElsewhere() {
+        when(shelterService.findPage(ShelterService.SORT_BY_NAME, null, ShelterService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page("Happy Tails"), page("Happy Paws"));
+        String etag = shelterCatalogSnapshot.get().etag();
+
+        shelterCatalogSnapshot.refresh();
+
+        assertNotEquals(etag, shelterCatalogSnapshot.get().etag());
+    }
+
+    @Test
+    void acceptsGzipShouldHonourQualityValues() {
+        assertTrue(ShelterCatalogSnapshot.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ShelterCatalogSnapshot.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(ShelterCatalogSnapshot.acceptsGzip("*"));
+        assertTrue(ShelterCatalogSnapshot.acceptsGzip("gzip;q=0.1, *;q=0"));
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void acceptsGzipShouldRejectZeroQualityAndMissingGzip() {
+        assertFalse(ShelterCatalogSnapshot.acceptsGzip(null));
+        assertFalse(ShelterCatalogSnapshot.acceptsGzip("gzip;q=0"));
+        assertFalse(ShelterCatalogSnapshot.acceptsGzip("gzip; q=0.000, deflate"));
+        assertFalse(ShelterCatalogSnapshot.acceptsGzip("*;q=0"));
+        assertFalse(ShelterCatalogSnapshot.acceptsGzip("deflate, br"));
+        assertFalse(ShelterCatalogSnapshot.acceptsGzip("identity"));
+    }
+
+    @Test
+    void rebuildShouldKeepEtagWhenContentIsUnchanged() {
+        when(shelterService.findPage(ShelterService.SORT_BY_NAME, null, ShelterService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page("Happy Tails"));
+        String etag = shelterCatalogSnapshot.get().etag();
+
+        shelterCatalogSnapshot.rebuild();
+
+        assertEquals(etag, shelterCatalogSnapshot.get().etag());
+    }
+
+    @Test
+    void getShouldNotRebuildUntilSheltersChange() {
+        when(shelterService.findPage(ShelterService.SORT_BY_NAME, null, ShelterService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page("Happy Tails"));
+
+        shelterCatalogSnapshot.get();
+        shelterCatalogSnapshot.get();
+
+        verify(shelterService, times(1)).findPage(ShelterService.SORT_BY_NAME, null, ShelterService.DEFAULT_PAGE_SIZE);
+    }
+
+    private static ShelterPageResponse page(String name) {
+        return new ShelterPageResponse(List.of(ShelterResponse.builder().id(1L).name(name).build()), null);
+    }
+}
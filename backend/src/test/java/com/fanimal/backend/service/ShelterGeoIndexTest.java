@@ -0,0 +1,90 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.NearbyShelterResponse;
+import com.fanimal.backend.model.Shelter;
+import com.fanimal.backend.repository.ShelterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShelterGeoIndex Unit Tests")
+class ShelterGeoIndexTest {
+
+    @Mock
+    private ShelterRepository shelterRepository;
+
+    private ShelterGeoIndex shelterGeoIndex;
+
+    @BeforeEach
+    void setUp() {
+        shelterGeoIndex = new ShelterGeoIndex(shelterRepository, 0.1);
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void nearestShouldMatchBruteForce() {
+        Random random = new Random(42);
+        List<Shelter> shelters = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            Shelter shelter = shelter(id, 45 + random.nextDouble(), -76 + random.nextDouble());
+            shelters.add(shelter);
+            shelterGeoIndex.index(shelter);
+        }
+
+        List<NearbyShelterResponse> nearest = shelterGeoIndex.nearest(45.5, -75.5, 50, 10);
+
+        List<Long> expected = shelters.stream()
+                .sorted(Comparator.comparingDouble(s -> ShelterGeoIndex.distanceKm(45.5, -75.5, s.getLatitude(), s.getLongitude())))
+                .limit(10)
+                .map(Shelter::getId)
+                .toList();
+        assertEquals(expected, nearest.stream().map(n -> n.getShelter().getId()).toList());
+    }
+
+    @Test
+    void nearestShouldFindSheltersAcrossTheAntimeridian() {
+        shelterGeoIndex.index(shelter(1L, 0.0, 179.99));
+
+        List<NearbyShelterResponse> nearest = shelterGeoIndex.nearest(0.0, -179.99, 10, 5);
+
+        assertEquals(1, nearest.size());
+        assertTrue(nearest.get(0).getDistanceKm() < 3);
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void nearestShouldExcludeSheltersOutsideRadius() {
+        shelterGeoIndex.index(shelter(1L, 45.0, -75.0));
+        shelterGeoIndex.index(shelter(2L, 46.0, -75.0));
+
+        List<NearbyShelterResponse> nearest = shelterGeoIndex.nearest(45.0, -75.0, 50, 10);
+
+        assertEquals(List.of(1L), nearest.stream().map(n -> n.getShelter().getId()).toList());
+    }
+
+    @Test
+    void nearestShouldNotReturnRemovedOrUnlocatedShelters() {
+        shelterGeoIndex.index(shelter(1L, 45.0, -75.0));
+        shelterGeoIndex.remove(1L);
+        shelterGeoIndex.index(Shelter.builder().id(2L).name("No location").build());
+
+        assertTrue(shelterGeoIndex.nearest(45.0, -75.0, 50, 10).isEmpty());
+    }
+
+    private static Shelter shelter(Long id, double latitude, double longitude) {
+        return Shelter.builder().id(id).name("Shelter " + id).latitude(latitude).longitude(longitude).build();
+    }
+}
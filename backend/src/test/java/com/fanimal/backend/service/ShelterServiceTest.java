@@ -6,6 +6,8 @@ import com.fanimal.backend.model.Shelter;
 import com.fanimal.backend.model.User;
 import com.fanimal.backend.repository.ShelterRepository;
 import com.fanimal.backend.repository.UserRepository;
+import com.fanimal.backend.util.CursorCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,15 +15,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +45,20 @@ class ShelterServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private ShelterSearchIndex shelterSearchIndex;
+    @Mock
+    private ShelterGeoIndex shelterGeoIndex;
+    @Mock
+    private ShelterSuggestIndex shelterSuggestIndex;
+    @Spy
+    private ShelterCache shelterCache = new ShelterCache(100, 60_000, new SimpleMeterRegistry());
+    @Mock
+    private ShelterChangeBroadcaster shelterChangeBroadcaster;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ShelterSupportCounters shelterSupportCounters;
+    @Mock
     private UserDetails userDetailsMock;
 
     private static ShelterRequest shelterRequest;
@@ -46,7 +68,7 @@ class ShelterServiceTest {
     @BeforeAll
     static void beforeAll() {
         // Role
-        userRole = Role.builder().name(Role.RoleName.USER).build();
+        userRole = Role.USER;
         // Owner User
         owner = User.builder()
                 .id(1L)
@@ -93,30 +115,148 @@ class ShelterServiceTest {
 
         verify(userRepository, times(1)).findByUsername(owner.getUsername());
         verify(shelterRepository, times(1)).save(any(Shelter.class));
+        verify(shelterSearchIndex, times(1)).index(any(Shelter.class));
+        verify(shelterGeoIndex, times(1)).index(any(Shelter.class));
+        verify(shelterSuggestIndex, times(1)).index(any(Shelter.class));
+    }
+
+    @Test
+    void findPage() {
+        ShelterResponse shelter1 = new ShelterResponse(1L, "Shelter 1", "Desc 1", "Address 1", null, null);
+        ShelterResponse shelter2 = new ShelterResponse(2L, "Shelter 2", "Desc 2", "Address 2", null, null);
+
+        when(shelterRepository.findPageByName(Limit.of(3))).thenReturn(List.of(shelter1, shelter2));
+
+        ShelterPageResponse page = shelterService.findPage("name", null, 2);
+
+        assertNotNull(page);
+        assertEquals(2, page.getItems().size());
+        assertEquals("Shelter 1", page.getItems().get(0).getName());
+        assertEquals("Shelter 2", page.getItems().get(1).getName());
+        assertNull(page.getNextCursor());
+
+        verify(shelterRepository, never()).findAll();
+    }
+
+    @Test
+    void findPageShouldContinueFromCursor() {
+        ShelterResponse shelter1 = new ShelterResponse(1L, "Shelter 1", "Desc 1", "Address 1", null, null);
+        ShelterResponse shelter2 = new ShelterResponse(2L, "Shelter 2", "Desc 2", "Address 2", null, null);
+        ShelterResponse shelter3 = new ShelterResponse(3L, "Shelter 3", "Desc 3", "Address 3", null, null);
+
+        when(shelterRepository.findPageByName(Limit.of(2))).thenReturn(List.of(shelter1, shelter2));
+        when(shelterRepository.findPageByNameAfter("Shelter 1", 1L, Limit.of(2))).thenReturn(List.of(shelter2, shelter3));
+
+        ShelterPageResponse first = shelterService.findPage("name", null, 1);
+        ShelterPageResponse second = shelterService.findPage("name", first.getNextCursor(), 1);
+
+        assertEquals(List.of(shelter1), first.getItems());
+        assertEquals(List.of(shelter2), second.getItems());
+        assertNotNull(second.getNextCursor());
+    }
+
+    @Test
+    void findPageShouldCapPageSize() {
+        when(shelterRepository.findPageById(Limit.of(ShelterService.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+
+        ShelterPageResponse page = shelterService.findPage("id", null, 10_000);
+
+        assertTrue(page.getItems().isEmpty());
+        verify(shelterRepository, times(1)).findPageById(Limit.of(ShelterService.MAX_PAGE_SIZE + 1));
     }
 
     @Test
-    void findAll() {
-        Shelter shelter1 = Shelter.builder().id(1L).name("Shelter 1").description("Desc 1").address("Address 1").owner(owner).build();
-        Shelter shelter2 = Shelter.builder().id(2L).name("Shelter 2").description("Desc 2").address("Address 2").owner(owner).build();
+    void searchShouldPageByOffset() {
+        ShelterResponse shelter1 = new ShelterResponse(1L, "Shelter 1", "Desc 1", "Address 1", null, null);
+        ShelterResponse shelter2 = new ShelterResponse(2L, "Shelter 2", "Desc 2", "Address 2", null, null);
 
-        when(shelterRepository.findAll()).thenReturn(List.of(shelter1, shelter2));
+        when(shelterSearchIndex.search("shelter", 0, 2)).thenReturn(List.of(shelter1, shelter2));
+        when(shelterSearchIndex.search("shelter", 1, 2)).thenReturn(List.of(shelter2));
 
-        List<ShelterResponse> shelters = shelterService.findAll();
+        ShelterPageResponse first = shelterService.search(" shelter ", null, 1);
+        ShelterPageResponse second = shelterService.search("shelter", first.getNextCursor(), 1);
 
-        assertNotNull(shelters);
-        assertEquals(2, shelters.size());
-        assertEquals("Shelter 1", shelters.get(0).getName());
-        assertEquals("Shelter 2", shelters.get(1).getName());
+        assertEquals(List.of(shelter1), first.getItems());
+        assertEquals(List.of(shelter2), second.getItems());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void findNearbyShouldCapRadiusAndLimit() {
+        shelterService.findNearby(45.4, -75.7, 10_000, 10_000);
+
+        verify(shelterGeoIndex, times(1)).nearest(45.4, -75.7, ShelterService.MAX_RADIUS_KM, ShelterService.MAX_PAGE_SIZE);
+    }
 
-        verify(shelterRepository, times(1)).findAll();
+    @Test
+    void findAllByIdShouldKeepRequestOrderAndMarkMissing() {
+        when(shelterRepository.findResponsesByIdIn(anyCollection())).thenReturn(List.of(
+                new ShelterResponse(1L, "Shelter 1", "Desc 1", "Address 1", null, null),
+                new ShelterResponse(3L, "Shelter 3", "Desc 3", "Address 3", null, null)));
+
+        List<ShelterLookupResponse> response = shelterService.findAllById(List.of(3L, 2L, 1L, 3L));
+
+        assertEquals(List.of(3L, 2L, 1L, 3L), response.stream().map(ShelterLookupResponse::getId).toList());
+        assertEquals(List.of(true, false, true, true), response.stream().map(ShelterLookupResponse::isFound).toList());
+        assertNull(response.get(1).getShelter());
+        assertEquals("Shelter 1", response.get(2).getShelter().getName());
+        verify(shelterRepository, times(1)).findResponsesByIdIn(anyCollection());
+    }
+
+    @Test
+    void findAllByIdShouldOnlyQueryCacheMisses() {
+        when(shelterRepository.findResponseById(1L)).thenReturn(Optional.of(new ShelterResponse(1L, "Shelter 1", "Desc 1", "Address 1", null, null)));
+        when(shelterRepository.findResponsesByIdIn(anyCollection())).thenReturn(List.of(
+                new ShelterResponse(2L, "Shelter 2", "Desc 2", "Address 2", null, null)));
+        shelterService.findById(1L);
+
+        List<ShelterLookupResponse> response = shelterService.findAllById(List.of(1L, 2L));
+
+        assertTrue(response.stream().allMatch(ShelterLookupResponse::isFound));
+        verify(shelterRepository, times(1)).findResponsesByIdIn(List.of(2L));
+    }
+
+    @Test
+    void findLeaderboardShouldKeepRankingAndSkipDeletedShelters() {
+        when(shelterSupportCounters.top(10)).thenReturn(List.of(
+                new ShelterSupportCounters.Totals(2L, 5, 4995),
+                new ShelterSupportCounters.Totals(9L, 3, 2997),
+                new ShelterSupportCounters.Totals(1L, 1, 999)));
+        when(shelterRepository.findResponsesByIdIn(anyCollection())).thenReturn(List.of(
+                new ShelterResponse(1L, "Shelter 1", "Desc 1", "Address 1", null, null),
+                new ShelterResponse(2L, "Shelter 2", "Desc 2", "Address 2", null, null)));
+
+        List<ShelterSupportResponse> leaderboard = shelterService.findLeaderboard(10);
+
+        assertEquals(List.of("Shelter 2", "Shelter 1"), leaderboard.stream().map(entry -> entry.getShelter().getName()).toList());
+        assertEquals(5, leaderboard.get(0).getSubscribers());
+    }
+
+    @WithMockUser
+    @Test
+    void findRevenueShouldReturnTotalsToOwner() {
+        Shelter shelter = Shelter.builder().id(1L).name("Shelter 1").owner(owner).build();
+        when(shelterRepository.findWithOwnerById(1L)).thenReturn(Optional.of(shelter));
+        when(shelterSupportCounters.get(1L)).thenReturn(new ShelterSupportCounters.Totals(1L, 2, 2998));
+
+        ShelterRevenueResponse revenue = shelterService.findRevenue(1L, userDetailsMock);
+
+        assertEquals(2, revenue.getSubscribers());
+        assertEquals(new BigDecimal("29.98"), revenue.getMonthlyRevenue());
+    }
+
+    @Test
+    void suggestShouldCapLimit() {
+        shelterService.suggest("hap", 1_000);
+
+        verify(shelterSuggestIndex, times(1)).suggest("hap", ShelterService.MAX_SUGGEST_LIMIT);
     }
 
     @Test
     void findById() {
         Shelter shelter = Shelter.builder().id(1L).name("Shelter 1").description("Desc 1").address("Address 1").owner(owner).build();
 
-        when(shelterRepository.findById(1L)).thenReturn(Optional.of(shelter));
+        when(shelterRepository.findResponseById(1L)).thenReturn(Optional.of(ShelterResponse.fromEntity(shelter)));
 
         ShelterResponse response = shelterService.findById(1L);
 
@@ -125,7 +265,38 @@ class ShelterServiceTest {
         assertEquals("Desc 1", response.getDescription());
         assertEquals("Address 1", response.getAddress());
 
-        verify(shelterRepository, times(1)).findById(1L);
+        verify(shelterRepository, times(1)).findResponseById(1L);
+        verify(shelterRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void findByIdShouldServeRepeatReadsFromCache() {
+        Shelter shelter = Shelter.builder().id(1L).name("Shelter 1").owner(owner).build();
+        when(shelterRepository.findResponseById(1L)).thenReturn(Optional.of(ShelterResponse.fromEntity(shelter)));
+
+        shelterService.findById(1L);
+        ShelterResponse response = shelterService.findById(1L);
+
+        assertEquals("Shelter 1", response.getName());
+        verify(shelterRepository, times(1)).findResponseById(1L);
+    }
+
+    @WithMockUser
+    @Test
+    void updateShouldInvalidateCachedShelter() {
+        Shelter shelter = Shelter.builder().id(1L).name("Old Name").owner(owner).build();
+        ShelterUpdateRequest updateRequest = new ShelterUpdateRequest();
+        updateRequest.setName("New Name");
+        when(shelterRepository.findResponseById(1L)).thenAnswer(invocation -> Optional.of(ShelterResponse.fromEntity(shelter)));
+        when(shelterRepository.findWithOwnerById(1L)).thenReturn(Optional.of(shelter));
+
+        shelterService.findById(1L);
+        shelterService.update(1L, updateRequest, userDetailsMock);
+        ShelterResponse response = shelterService.findById(1L);
+
+        assertEquals("New Name", response.getName());
+        verify(shelterChangeBroadcaster, times(1)).publish(1L);
+        verify(eventPublisher, times(1)).publishEvent(new ShelterChangedEvent(1L));
     }
 
     @WithMockUser
@@ -137,7 +308,7 @@ class ShelterServiceTest {
         updateRequest.setDescription("New Desc");
         updateRequest.setAddress("New Address");
 
-        when(shelterRepository.findById(1L)).thenReturn(Optional.of(shelter));
+        when(shelterRepository.findWithOwnerById(1L)).thenReturn(Optional.of(shelter));
         when(shelterRepository.save(any(Shelter.class))).thenReturn(shelter);
 
         ShelterResponse response = shelterService.update(1L, updateRequest, userDetailsMock);
@@ -147,8 +318,11 @@ class ShelterServiceTest {
         assertEquals("New Desc", response.getDescription());
         assertEquals("New Address", response.getAddress());
 
-        verify(shelterRepository, times(1)).findById(1L);
+        verify(shelterRepository, times(1)).findWithOwnerById(1L);
         verify(shelterRepository, times(1)).save(any(Shelter.class));
+        verify(shelterSearchIndex, times(1)).index(any(Shelter.class));
+        verify(shelterGeoIndex, times(1)).index(any(Shelter.class));
+        verify(shelterSuggestIndex, times(1)).index(any(Shelter.class));
     }
 
     @WithMockUser
@@ -156,16 +330,107 @@ class ShelterServiceTest {
     void delete() {
         Shelter shelter = Shelter.builder().id(1L).name("Shelter 1").description("Desc 1").address("Address 1").owner(owner).build();
 
-        when(shelterRepository.findById(1L)).thenReturn(Optional.of(shelter));
+        when(shelterRepository.findWithOwnerById(1L)).thenReturn(Optional.of(shelter));
 
         assertDoesNotThrow(() -> shelterService.delete(1L, userDetailsMock));
 
-        verify(shelterRepository, times(1)).findById(1L);
+        verify(shelterRepository, times(1)).findWithOwnerById(1L);
         verify(shelterRepository, times(1)).delete(shelter);
+        verify(shelterSearchIndex, times(1)).remove(shelter.getId());
+        verify(shelterGeoIndex, times(1)).remove(shelter.getId());
+        verify(shelterSuggestIndex, times(1)).remove(shelter.getId());
+        verify(shelterCache, times(1)).invalidate(shelter.getId());
+        verify(shelterChangeBroadcaster, times(1)).publish(shelter.getId());
+        verify(eventPublisher, times(1)).publishEvent(new ShelterChangedEvent(shelter.getId()));
     }
 
     // --------------------- NEGATIVE TESTS ---------------------
 
+    @Test
+    void findPageShouldReturn400WhenCursorIsForAnotherSort() {
+        String idCursor = CursorCodec.encode("id", "1");
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shelterService.findPage("name", idCursor, 20));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(shelterRepository);
+    }
+
+    @Test
+    void searchShouldReturn400WhenQueryIsBlank() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shelterService.search(" ", null, 20));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(shelterSearchIndex);
+    }
+
+    @Test
+    void findNearbyShouldReturn400WhenCoordinatesOutOfRange() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shelterService.findNearby(91, 0, 10, 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(shelterGeoIndex);
+    }
+
+    @Test
+    void findAllByIdShouldReturn400WhenTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, ShelterService.MAX_LOOKUP_IDS + 1).boxed().toList();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shelterService.findAllById(ids));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(shelterRepository, never()).findResponsesByIdIn(anyCollection());
+    }
+
+    @Test
+    void findAllByIdShouldReturn400WhenAnIdIsNull() {
+        // Arrays.asList allows nulls, unlike the List.of lists whose contains(null) throws
+        List<Long> ids = Arrays.asList(1L, null);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shelterService.findAllById(ids));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(shelterRepository, never()).findResponsesByIdIn(anyCollection());
+    }
+
+    @Test
+    void suggestShouldReturn400WhenLimitIsNotPositive() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shelterService.suggest("hap", 0));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(shelterSuggestIndex);
+    }
+
+    @Test
+    void createShouldReturn400WhenOnlyLatitudeGiven() {
+        ShelterRequest request = new ShelterRequest();
+        request.setName("Test Shelter");
+        request.setDescription("Test description");
+        request.setAddress("Test address");
+        request.setLatitude(45.0);
+        when(userRepository.findByUsername(owner.getUsername())).thenReturn(Optional.of(owner));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shelterService.create(request, userDetailsMock));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(shelterRepository, never()).save(any(Shelter.class));
+    }
+
+    @Test
+    void findPageShouldReturn400WhenSortIsUnknown() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shelterService.findPage("address", null, 20));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
     @WithMockUser
     @Test
     void createShouldReturn404WhenUserNotFound() {
@@ -182,7 +447,7 @@ class ShelterServiceTest {
 
     @Test
     void findByIdShouldReturn404WhenShelterNotFound() {
-        when(shelterRepository.findById(1L)).thenReturn(Optional.empty());
+        when(shelterRepository.findResponseById(1L)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> shelterService.findById(1L));
@@ -199,7 +464,7 @@ class ShelterServiceTest {
         updateRequest.setDescription("New Desc");
         updateRequest.setAddress("New Address");
 
-        when(shelterRepository.findById(1L)).thenReturn(Optional.empty());
+        when(shelterRepository.findWithOwnerById(1L)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> shelterService.update(1L, updateRequest, userDetailsMock));
@@ -219,7 +484,7 @@ class ShelterServiceTest {
         updateRequest.setAddress("New Address");
 
         when(userDetailsMock.getUsername()).thenReturn("otherUser");
-        when(shelterRepository.findById(1L)).thenReturn(Optional.of(shelter));
+        when(shelterRepository.findWithOwnerById(1L)).thenReturn(Optional.of(shelter));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> shelterService.update(1L, updateRequest, userDetailsMock));
@@ -231,7 +496,7 @@ class ShelterServiceTest {
     @WithMockUser
     @Test
     void deleteShouldReturn404WhenShelterNotFound() {
-        when(shelterRepository.findById(1L)).thenReturn(Optional.empty());
+        when(shelterRepository.findWithOwnerById(1L)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> shelterService.delete(1L, userDetailsMock));
@@ -246,7 +511,7 @@ class ShelterServiceTest {
         Shelter shelter = Shelter.builder().id(1L).name("Shelter 1").owner(owner).build();
 
         when(userDetailsMock.getUsername()).thenReturn("otherUser");
-        when(shelterRepository.findById(1L)).thenReturn(Optional.of(shelter));
+        when(shelterRepository.findWithOwnerById(1L)).thenReturn(Optional.of(shelter));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> shelterService.delete(1L, userDetailsMock));
@@ -254,4 +519,19 @@ class ShelterServiceTest {
         assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
         assertEquals("Unauthorized", exception.getReason());
     }
+
+    @WithMockUser
+    @Test
+    void findRevenueShouldReturn401WhenNotOwner() {
+        Shelter shelter = Shelter.builder().id(1L).name("Shelter 1").owner(owner).build();
+
+        when(userDetailsMock.getUsername()).thenReturn("otherUser");
+        when(shelterRepository.findWithOwnerById(1L)).thenReturn(Optional.of(shelter));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shelterService.findRevenue(1L, userDetailsMock));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        verify(shelterSupportCounters, never()).get(any());
+    }
 }
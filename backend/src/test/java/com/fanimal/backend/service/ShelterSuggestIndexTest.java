@@ -0,0 +1,96 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.shelter.ShelterResponse;
+import com.fanimal.backend.dto.shelter.ShelterSuggestionResponse;
+import com.fanimal.backend.model.Shelter;
+import com.fanimal.backend.repository.ShelterRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShelterSuggestIndex Unit Tests")
+class ShelterSuggestIndexTest {
+
+    @Mock
+    private ShelterRepository shelterRepository;
+
+    @InjectMocks
+    private ShelterSuggestIndex shelterSuggestIndex;
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void suggestShouldMatchAnyWordStartIgnoringCaseAndAccents() {
+        when(shelterRepository.findAllSuggestions()).thenReturn(List.of(
+                new ShelterSuggestionResponse(1L, "Happy Tails"),
+                new ShelterSuggestionResponse(2L, "Café Chats"),
+                new ShelterSuggestionResponse(3L, "Tail Waggers")));
+        shelterSuggestIndex.rebuild();
+
+        assertEquals(List.of(3L, 1L), ids(shelterSuggestIndex.suggest("TAIL", 10)));
+        assertEquals(List.of(2L), ids(shelterSuggestIndex.suggest("cafe", 10)));
+        assertEquals(List.of(2L), ids(shelterSuggestIndex.suggest("chat", 10)));
+    }
+
+    @Test
+    void suggestShouldReturnEachShelterOnceAndRespectLimit() {
+        shelterSuggestIndex.index(shelter(1L, "Paws Paws Paws"));
+        shelterSuggestIndex.index(shelter(2L, "Paws and Claws"));
+        shelterSuggestIndex.index(shelter(3L, "Pawsome Pets"));
+
+        assertEquals(3, shelterSuggestIndex.suggest("paws", 10).size());
+        assertEquals(2, shelterSuggestIndex.suggest("paws", 2).size());
+    }
+
+    @Test
+    void indexShouldReplacePreviousName() {
+        shelterSuggestIndex.index(shelter(1L, "Old Name"));
+        shelterSuggestIndex.index(shelter(1L, "New Name"));
+
+        assertTrue(shelterSuggestIndex.suggest("old", 10).isEmpty());
+        assertEquals("New Name", shelterSuggestIndex.suggest("new", 10).get(0).getName());
+    }
+
+    @Test
+    void indexShouldAcceptTheProjectionUsedByTheChangeListener() {
+        shelterSuggestIndex.index(shelter(1L, "Old Name"));
+        shelterSuggestIndex.index(new ShelterResponse(1L, "New Name", null, null, null, null));
+
+        assertTrue(shelterSuggestIndex.suggest("old", 10).isEmpty());
+        assertEquals(List.of(1L), ids(shelterSuggestIndex.suggest("new", 10)));
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void suggestShouldNotReturnRemovedShelters() {
+        shelterSuggestIndex.index(shelter(1L, "Happy Tails"));
+        shelterSuggestIndex.remove(1L);
+
+        assertTrue(shelterSuggestIndex.suggest("happy", 10).isEmpty());
+    }
+
+    @Test
+    void suggestShouldReturnNothingForBlankPrefix() {
+        shelterSuggestIndex.index(shelter(1L, "Happy Tails"));
+
+        assertTrue(shelterSuggestIndex.suggest("  ", 10).isEmpty());
+    }
+
+    private static Shelter shelter(Long id, String name) {
+        return Shelter.builder().id(id).name(name).build();
+    }
+
+    private static List<Long> ids(List<ShelterSuggestionResponse> suggestions) {
+        return suggestions.stream().map(ShelterSuggestionResponse::getId).toList();
+    }
+}
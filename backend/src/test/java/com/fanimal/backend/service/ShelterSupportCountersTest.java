@@ -0,0 +1,97 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.subscription.ShelterTierCount;
+import com.fanimal.backend.model.Subscription.SubscriptionStatus;
+import com.fanimal.backend.model.Subscription.Tier;
+import com.fanimal.backend.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShelterSupportCounters Unit Tests")
+class ShelterSupportCountersTest {
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    private ShelterSupportCounters shelterSupportCounters;
+
+    @BeforeEach
+    void setUp() {
+        shelterSupportCounters = new ShelterSupportCounters(subscriptionRepository, new SimpleMeterRegistry());
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void transitionShouldCountSupportingSubscriptionsAndRevenue() {
+        shelterSupportCounters.transition(1L, null, null, Tier.BASIC, SubscriptionStatus.ACTIVE);
+        shelterSupportCounters.transition(1L, null, null, Tier.PREMIUM, SubscriptionStatus.TRIALING);
+        shelterSupportCounters.transition(1L, null, null, Tier.STANDARD, SubscriptionStatus.INCOMPLETE);
+
+        ShelterSupportCounters.Totals totals = shelterSupportCounters.get(1L);
+        assertEquals(2, totals.subscribers());
+        assertEquals(new BigDecimal("29.98"), totals.monthlyRevenue());
+    }
+
+    @Test
+    void transitionShouldMoveRevenueOnTierChangeAndDropOnCancel() {
+        shelterSupportCounters.transition(1L, null, null, Tier.BASIC, SubscriptionStatus.ACTIVE);
+        shelterSupportCounters.transition(1L, Tier.BASIC, SubscriptionStatus.ACTIVE, Tier.PREMIUM, SubscriptionStatus.ACTIVE);
+
+        assertEquals(new BigDecimal("19.99"), shelterSupportCounters.get(1L).monthlyRevenue());
+
+        shelterSupportCounters.transition(1L, Tier.PREMIUM, SubscriptionStatus.ACTIVE, Tier.PREMIUM, SubscriptionStatus.CANCELED);
+
+        assertEquals(0, shelterSupportCounters.get(1L).subscribers());
+        assertTrue(shelterSupportCounters.top(10).isEmpty());
+    }
+
+    @Test
+    void topShouldRankBySubscribersThenRevenue() {
+        shelterSupportCounters.transition(1L, null, null, Tier.BASIC, SubscriptionStatus.ACTIVE);
+        shelterSupportCounters.transition(2L, null, null, Tier.PREMIUM, SubscriptionStatus.ACTIVE);
+        shelterSupportCounters.transition(3L, null, null, Tier.BASIC, SubscriptionStatus.ACTIVE);
+        shelterSupportCounters.transition(3L, null, null, Tier.BASIC, SubscriptionStatus.ACTIVE);
+
+        assertEquals(List.of(3L, 2L, 1L), shelterSupportCounters.top(10).stream().map(ShelterSupportCounters.Totals::shelterId).toList());
+        assertEquals(List.of(3L), shelterSupportCounters.top(1).stream().map(ShelterSupportCounters.Totals::shelterId).toList());
+    }
+
+    @Test
+    void reconcileShouldReplaceDriftedTotals() {
+        shelterSupportCounters.transition(1L, null, null, Tier.BASIC, SubscriptionStatus.ACTIVE);
+        when(subscriptionRepository.countSupportingByShelterAndTier(anyCollection())).thenReturn(List.of(
+                new ShelterTierCount(2L, Tier.STANDARD, 3),
+                new ShelterTierCount(2L, Tier.BASIC, 1)));
+
+        shelterSupportCounters.reconcile();
+
+        assertEquals(0, shelterSupportCounters.get(1L).subscribers());
+        assertEquals(4, shelterSupportCounters.get(2L).subscribers());
+        assertEquals(new BigDecimal("54.96"), shelterSupportCounters.get(2L).monthlyRevenue());
+        assertEquals(List.of(2L), shelterSupportCounters.top(10).stream().map(ShelterSupportCounters.Totals::shelterId).toList());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void transitionShouldIgnoreChangesBetweenNonSupportingStatuses() {
+        shelterSupportCounters.transition(1L, Tier.BASIC, SubscriptionStatus.INCOMPLETE, Tier.BASIC, SubscriptionStatus.INCOMPLETE_EXPIRED);
+
+        assertEquals(0, shelterSupportCounters.get(1L).subscribers());
+        assertTrue(shelterSupportCounters.top(10).isEmpty());
+    }
+}
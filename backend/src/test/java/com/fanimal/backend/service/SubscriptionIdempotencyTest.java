@@ -0,0 +1,135 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.subscription.SubscriptionRequest;
+import com.fanimal.backend.dto.subscription.SubscriptionResponse;
+import com.fanimal.backend.model.IdempotencyRecord;
+import com.fanimal.backend.model.Subscription.SubscriptionStatus;
+import com.fanimal.backend.model.Subscription.Tier;
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SubscriptionIdempotency Unit Tests")
+class SubscriptionIdempotencyTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private SubscriptionIdempotency subscriptionIdempotency;
+    private User user;
+    private SubscriptionResponse response;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionIdempotency = new SubscriptionIdempotency(2, 60_000, idempotencyRecordRepository, objectMapper, new SimpleMeterRegistry());
+        user = User.builder().id(1L).username("testuser").build();
+        response = SubscriptionResponse.builder()
+                .id(7L)
+                .tier(Tier.BASIC)
+                .status(SubscriptionStatus.INCOMPLETE)
+                .startDate(LocalDate.of(2025, 1, 1))
+                .build();
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void recordShouldStoreResponseAndAnswerReplaysFromMemory() {
+        String hash = SubscriptionIdempotency.hash(request(Tier.BASIC));
+
+        subscriptionIdempotency.record(user, "key-1", hash, response);
+
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).save(saved.capture());
+        assertEquals(1L, saved.getValue().getUserId());
+        assertEquals("key-1", saved.getValue().getIdempotencyKey());
+        assertSame(response, subscriptionIdempotency.findCached("testuser", "key-1", hash));
+    }
+
+    @Test
+    void findStoredShouldReadResponseFromTableAndCacheIt() throws Exception {
+        String hash = SubscriptionIdempotency.hash(request(Tier.BASIC));
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .userId(1L)
+                .idempotencyKey("key-1")
+                .requestHash(hash)
+                .response(objectMapper.writeValueAsString(response))
+                .createdAt(Instant.now())
+                .build()));
+
+        SubscriptionResponse replay = subscriptionIdempotency.findStored(user, "key-1", hash);
+
+        assertEquals(response, replay);
+        assertEquals(response, subscriptionIdempotency.findCached("testuser", "key-1", hash));
+    }
+
+    @Test
+    void hashShouldDependOnEveryRequestField() {
+        assertEquals(SubscriptionIdempotency.hash(request(Tier.BASIC)), SubscriptionIdempotency.hash(request(Tier.BASIC)));
+        assertNotEquals(SubscriptionIdempotency.hash(request(Tier.BASIC)), SubscriptionIdempotency.hash(request(Tier.PREMIUM)));
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void findCachedShouldRejectKeyReusedForDifferentRequest() {
+        subscriptionIdempotency.record(user, "key-1", SubscriptionIdempotency.hash(request(Tier.BASIC)), response);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> subscriptionIdempotency.findCached("testuser", "key-1", SubscriptionIdempotency.hash(request(Tier.PREMIUM))));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, ex.getStatusCode());
+    }
+
+    @Test
+    void findCachedShouldMissForOtherUsersAndEvictedKeys() {
+        String hash = SubscriptionIdempotency.hash(request(Tier.BASIC));
+        subscriptionIdempotency.record(user, "key-1", hash, response);
+        subscriptionIdempotency.record(user, "key-2", hash, response);
+        subscriptionIdempotency.record(user, "key-3", hash, response);
+
+        assertNull(subscriptionIdempotency.findCached("otheruser", "key-3", hash));
+        assertNull(subscriptionIdempotency.findCached("testuser", "key-1", hash));
+        assertNotNull(subscriptionIdempotency.findCached("testuser", "key-3", hash));
+    }
+
+    @Test
+    void findStoredShouldIgnoreExpiredRecords() {
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .requestHash("hash")
+                .response("{}")
+                .createdAt(Instant.now().minusSeconds(120))
+                .build()));
+
+        assertNull(subscriptionIdempotency.findStored(user, "key-1", "hash"));
+        verify(idempotencyRecordRepository, never()).save(any());
+    }
+
+    private static SubscriptionRequest request(Tier tier) {
+        SubscriptionRequest request = new SubscriptionRequest();
+        request.setShelterId(1L);
+        request.setTier(tier);
+        request.setPaymentMethodId("pm_123");
+        return request;
+    }
+}
@@ -0,0 +1,285 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.subscription.SubscriptionRequest;
+import com.fanimal.backend.dto.subscription.SubscriptionResponse;
+import com.fanimal.backend.model.Shelter;
+import com.fanimal.backend.model.Subscription.SubscriptionStatus;
+import com.fanimal.backend.model.Subscription.Tier;
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.ShelterRepository;
+import com.fanimal.backend.repository.SubscriptionRepository;
+import com.fanimal.backend.repository.UserRepository;
+import com.stripe.exception.ApiException;
+import com.stripe.model.Customer;
+import com.stripe.model.Invoice;
+import com.stripe.model.PaymentMethod;
+import com.stripe.model.Subscription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("SubscriptionService Unit Tests")
+class SubscriptionServiceTest {
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ShelterRepository shelterRepository;
+    @Mock
+    private ShelterSupportCounters shelterSupportCounters;
+    @Mock
+    private SubscriptionIdempotency subscriptionIdempotency;
+    @Mock
+    private StripeGateway stripeGateway;
+
+    private SubscriptionService subscriptionService;
+    private User user;
+    private Shelter shelter;
+    private UserDetails userDetails;
+    private SubscriptionRequest subscriptionRequest;
+    private PaymentMethod paymentMethod;
+    private Subscription stripeSubscription;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        subscriptionService = new SubscriptionService(subscriptionRepository, userRepository, shelterRepository,
+                shelterSupportCounters, subscriptionIdempotency, new SimpleMeterRegistry(), stripeGateway);
+        user = User.builder().id(1L).username("testuser").email("test@test.com").name("Test User").build();
+        shelter = Shelter.builder().id(2L).name("Happy Tails Shelter").stripeBasicPriceId("price_basic").build();
+        userDetails = org.springframework.security.core.userdetails.User.withUsername("testuser")
+                .password("password").roles("USER").build();
+        subscriptionRequest = new SubscriptionRequest();
+        subscriptionRequest.setShelterId(2L);
+        subscriptionRequest.setTier(Tier.BASIC);
+        subscriptionRequest.setPaymentMethodId("pm_card_visa");
+
+        paymentMethod = new PaymentMethod();
+        paymentMethod.setId("pm_card_visa");
+        stripeSubscription = new Subscription();
+        stripeSubscription.setId("sub_1");
+        stripeSubscription.setStatus("incomplete");
+        stripeSubscription.setLatestInvoiceObject(new Invoice());
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(shelterRepository.findById(2L)).thenReturn(Optional.of(shelter));
+        when(userRepository.findStripeCustomerIdById(1L)).thenReturn(Optional.empty());
+        when(userRepository.claimStripeCustomerId(eq(1L), any())).thenReturn(1);
+        when(stripeGateway.createCustomer(any(), any())).thenReturn(customer("cus_1"));
+        when(stripeGateway.retrievePaymentMethod("pm_card_visa")).thenReturn(paymentMethod);
+        when(stripeGateway.createSubscription(any(), any())).thenReturn(stripeSubscription);
+        when(subscriptionRepository.findByStripeSubscriptionId("sub_1")).thenReturn(Optional.empty());
+        when(subscriptionRepository.save(any())).thenAnswer(invocation -> {
+            com.fanimal.backend.model.Subscription saved = invocation.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void subscribeShouldCreateCustomerAttachAndSubscribeInOrder() throws Exception {
+        SubscriptionResponse response = subscriptionService.subscribe(userDetails, subscriptionRequest, null);
+
+        assertEquals(10L, response.getId());
+        assertEquals(SubscriptionStatus.INCOMPLETE, response.getStatus());
+        assertEquals("cus_1", user.getStripeCustomerId());
+        InOrder inOrder = inOrder(shelterRepository, stripeGateway, subscriptionRepository);
+        inOrder.verify(shelterRepository).findById(2L);
+        inOrder.verify(stripeGateway).createCustomer(any(), any());
+        inOrder.verify(stripeGateway).attachPaymentMethod(eq(paymentMethod), any(), any());
+        inOrder.verify(stripeGateway).createSubscription(any(), any());
+        inOrder.verify(subscriptionRepository).save(any());
+        verify(shelterSupportCounters).transition(2L, null, null, Tier.BASIC, SubscriptionStatus.INCOMPLETE);
+    }
+
+    @Test
+    void subscribeShouldSucceedWhenDefaultPaymentMethodUpdateFails() throws Exception {
+        when(stripeGateway.updateCustomer(any(), any(), any()))
+                .thenThrow(new ApiException("card declined", "req_1", null, 500, null));
+
+        SubscriptionResponse response = subscriptionService.subscribe(userDetails, subscriptionRequest, null);
+
+        assertEquals(10L, response.getId());
+        verify(stripeGateway).updateCustomer(any(), any(), any());
+        verify(subscriptionRepository).save(any());
+    }
+
+    @Test
+    void subscribeShouldReturnExistingRowWhenConcurrentRetrySavedItFirst() throws Exception {
+        com.fanimal.backend.model.Subscription existing = com.fanimal.backend.model.Subscription.builder()
+                .id(11L).tier(Tier.BASIC).status(SubscriptionStatus.INCOMPLETE).stripeSubscriptionId("sub_1").build();
+        when(subscriptionRepository.findByStripeSubscriptionId("sub_1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(existing));
+        when(subscriptionRepository.save(any())).thenThrow(new DataIntegrityViolationException("uk_subscriptions_stripe_subscription_id"));
+
+        SubscriptionResponse response = subscriptionService.subscribe(userDetails, subscriptionRequest, null);
+
+        assertEquals(11L, response.getId());
+        verify(shelterSupportCounters, never()).transition(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void subscribeShouldReuseStoredCustomerWithoutCreatingOne() throws Exception {
+        user.setStripeCustomerId("cus_stored");
+
+        subscriptionService.subscribe(userDetails, subscriptionRequest, null);
+
+        verify(stripeGateway, never()).createCustomer(any(), any());
+    }
+
+    @Test
+    void concurrentSubscribesOnOneNodeShouldCreateOneCustomer() throws Exception {
+        AtomicReference<String> storedCustomerId = emulateCustomerIdColumn();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(stripeGateway.createCustomer(any(), any())).thenAnswer(invocation -> {
+            // Hold the leader so the second subscribe joins its flight instead of finding a stored id
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            return customer("cus_1");
+        });
+
+        List<SubscriptionResponse> responses = subscribeConcurrently(List.of(subscriptionService, subscriptionService), bothStarted);
+
+        assertEquals(2, responses.size());
+        assertEquals("cus_1", storedCustomerId.get());
+        verify(stripeGateway, times(1)).createCustomer(any(), any());
+        verify(stripeGateway, never()).deleteCustomer(any());
+    }
+
+    @Test
+    void concurrentSubscribesOnTwoNodesShouldStoreOneCustomerAndDeleteTheOther() throws Exception {
+        AtomicReference<String> storedCustomerId = emulateCustomerIdColumn();
+        // Each node loads its own copy of the user
+        when(userRepository.findByUsername("testuser")).thenAnswer(invocation -> Optional.of(User.builder()
+                .id(1L).username("testuser").email("test@test.com").name("Test User").build()));
+        AtomicInteger created = new AtomicInteger();
+        CyclicBarrier bothCreated = new CyclicBarrier(2);
+        when(stripeGateway.createCustomer(any(), any())).thenAnswer(invocation -> {
+            Customer customer = customer("cus_" + created.incrementAndGet());
+            // Both nodes have a customer in Stripe before either claims the column
+            bothCreated.await(5, TimeUnit.SECONDS);
+            return customer;
+        });
+        SubscriptionService otherNode = new SubscriptionService(subscriptionRepository, userRepository, shelterRepository,
+                shelterSupportCounters, subscriptionIdempotency, new SimpleMeterRegistry(), stripeGateway);
+
+        subscribeConcurrently(List.of(subscriptionService, otherNode), new CountDownLatch(2));
+
+        Set<String> createdIds = new HashSet<>(Set.of("cus_1", "cus_2"));
+        assertTrue(createdIds.remove(storedCustomerId.get()));
+        String duplicate = createdIds.iterator().next();
+        verify(userRepository, times(2)).claimStripeCustomerId(eq(1L), any());
+        verify(stripeGateway, times(1)).deleteCustomer(argThat(customer -> customer.getId().equals(duplicate)));
+        // Both subscriptions went to the customer that won the claim
+        verify(stripeGateway, times(2)).attachPaymentMethod(any(),
+                argThat(params -> params.getCustomer().equals(storedCustomerId.get())), any());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void subscribeShouldReturn404ForUnknownShelterBeforeCallingStripe() {
+        when(shelterRepository.findById(2L)).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> subscriptionService.subscribe(userDetails, subscriptionRequest, null));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        verifyNoInteractions(stripeGateway);
+    }
+
+    @Test
+    void subscribeShouldKeepCreatedCustomerWhenPaymentMethodLookupFails() throws Exception {
+        CountDownLatch lookupFailed = new CountDownLatch(1);
+        when(stripeGateway.retrievePaymentMethod("pm_card_visa")).thenAnswer(invocation -> {
+            lookupFailed.countDown();
+            throw new ApiException("no such payment method", "req_2", "resource_missing", 404, null);
+        });
+        // Customer creation is still running when its sibling fails; it must finish and be stored, not be cancelled
+        when(stripeGateway.createCustomer(any(), any())).thenAnswer(invocation -> {
+            assertTrue(lookupFailed.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            return customer("cus_1");
+        });
+
+        assertThrows(ApiException.class, () -> subscriptionService.subscribe(userDetails, subscriptionRequest, null));
+
+        verify(userRepository).claimStripeCustomerId(1L, "cus_1");
+        verify(stripeGateway, never()).deleteCustomer(any());
+        verify(stripeGateway, never()).attachPaymentMethod(any(), any(), any());
+        verify(stripeGateway, never()).createSubscription(any(), any());
+    }
+
+    @Test
+    void subscribeShouldNotSaveLocallyWhenStripeSubscriptionFails() throws Exception {
+        when(stripeGateway.createSubscription(any(), any()))
+                .thenThrow(new ApiException("price inactive", "req_3", null, 400, null));
+
+        assertThrows(ApiException.class, () -> subscriptionService.subscribe(userDetails, subscriptionRequest, null));
+
+        verify(subscriptionRepository, never()).save(any());
+        verify(shelterSupportCounters, never()).transition(any(), any(), any(), any(), any());
+    }
+
+    // users.stripe_customer_id, with claimStripeCustomerId's "where stripe_customer_id is null" guard
+    private AtomicReference<String> emulateCustomerIdColumn() {
+        AtomicReference<String> column = new AtomicReference<>();
+        when(userRepository.findStripeCustomerIdById(1L)).thenAnswer(invocation -> Optional.ofNullable(column.get()));
+        when(userRepository.claimStripeCustomerId(eq(1L), any()))
+                .thenAnswer(invocation -> column.compareAndSet(null, invocation.getArgument(1)) ? 1 : 0);
+        return column;
+    }
+
+    private List<SubscriptionResponse> subscribeConcurrently(List<SubscriptionService> nodes, CountDownLatch started) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(nodes.size())) {
+            List<Future<SubscriptionResponse>> futures = nodes.stream()
+                    .map(node -> executor.submit(() -> {
+                        started.countDown();
+                        return node.subscribe(userDetails, subscriptionRequest, null);
+                    }))
+                    .toList();
+            List<SubscriptionResponse> responses = new ArrayList<>();
+            for (Future<SubscriptionResponse> future : futures) {
+                responses.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return responses;
+        }
+    }
+
+    private static Customer customer(String id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        return customer;
+    }
+}
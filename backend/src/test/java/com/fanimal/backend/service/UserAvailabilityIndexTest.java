@@ -0,0 +1,86 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.model.User;
+import com.fanimal.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserAvailabilityIndex Unit Tests")
+class UserAvailabilityIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserAvailabilityIndex userAvailabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        userAvailabilityIndex = new UserAvailabilityIndex(userRepository, 1_000, 0.001, 5_000, new SimpleMeterRegistry());
+        when(userRepository.findAllUsernames()).thenReturn(List.of("Taken"));
+        when(userRepository.findAllEmails()).thenReturn(List.of("taken@mail.com"));
+        userAvailabilityIndex.load();
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void isUsernameAvailableShouldSkipDatabaseForUnknownName() {
+        assertTrue(userAvailabilityIndex.isUsernameAvailable("free"));
+
+        verify(userRepository, never()).existsByUsername(any());
+    }
+
+    @Test
+    void isUsernameAvailableShouldConfirmPossibleMatchWithDatabase() {
+        when(userRepository.existsByUsername("taken")).thenReturn(true);
+
+        assertFalse(userAvailabilityIndex.isUsernameAvailable("taken"));
+
+        verify(userRepository, times(1)).existsByUsername("taken");
+    }
+
+    @Test
+    void addShouldMarkRegisteredEmailAsPossiblyTaken() {
+        User user = User.builder().username("new").email("new@mail.com").build();
+        when(userRepository.existsByEmail("new@mail.com")).thenReturn(true);
+
+        userAvailabilityIndex.add(user);
+
+        assertFalse(userAvailabilityIndex.isEmailAvailable("new@mail.com"));
+    }
+
+    @Test
+    void syncDeltaShouldPickUpUsersRegisteredOnAnotherNode() {
+        when(userRepository.findUsernamesCreatedSince(any())).thenReturn(List.of("Remote"));
+        when(userRepository.findEmailsCreatedSince(any())).thenReturn(List.of("remote@mail.com"));
+        when(userRepository.existsByUsername("remote")).thenReturn(true);
+
+        userAvailabilityIndex.syncDelta();
+
+        assertFalse(userAvailabilityIndex.isUsernameAvailable("remote"));
+        verify(userRepository, times(1)).existsByUsername("remote");
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void isEmailAvailableShouldTrustDatabaseAfterDelete() {
+        User user = User.builder().username("Taken").email("taken@mail.com").build();
+        when(userRepository.existsByEmail("taken@mail.com")).thenReturn(false);
+
+        userAvailabilityIndex.remove(user);
+
+        assertTrue(userAvailabilityIndex.isEmailAvailable("taken@mail.com"));
+    }
+}
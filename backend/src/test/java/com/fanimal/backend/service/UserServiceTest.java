@@ -5,6 +5,7 @@ import com.fanimal.backend.dto.user.UserUpdateRequest;
 import com.fanimal.backend.model.Role;
 import com.fanimal.backend.model.User;
 import com.fanimal.backend.repository.UserRepository;
+import com.fanimal.backend.security.SecurityEpochRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -33,6 +34,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private SecurityEpochRegistry securityEpochRegistry;
+    @Mock
+    private UserAvailabilityIndex userAvailabilityIndex;
+    @Mock
+    private UserVersionCache userVersionCache;
+    @Mock
     private UserDetails userDetailsMock;
 
     private static Role userRole;
@@ -43,7 +50,7 @@ class UserServiceTest {
     @BeforeAll
     static void beforeAll() {
         // Role
-        userRole = Role.builder().name(Role.RoleName.USER).build();
+        userRole = Role.USER;
         // Current User
         currentUser = User.builder()
                 .id(1L)
@@ -93,6 +100,7 @@ class UserServiceTest {
         assertEquals(currentUser.getRoles(), response.getRoles());
 
         verify(userRepository, times(1)).findByUsername(currentUser.getUsername());
+        verify(userVersionCache, times(1)).record(currentUser);
     }
 
     @Test
@@ -101,6 +109,7 @@ class UserServiceTest {
         updateRequest.setName("Updated User");
 
         when(userRepository.findByUsername(currentUser.getUsername())).thenReturn(Optional.of(currentUser));
+        when(userRepository.saveAndFlush(currentUser)).thenReturn(currentUser);
 
         UserResponse response = userService.updateCurrentUser(updateRequest, userDetailsMock);
 
@@ -110,7 +119,8 @@ class UserServiceTest {
         assertEquals(currentUser.getUsername(), response.getUsername());
 
         verify(userRepository, times(1)).findByUsername(currentUser.getUsername());
-        verify(userRepository, times(1)).save(currentUser);
+        verify(userRepository, times(1)).saveAndFlush(currentUser);
+        verify(userVersionCache, times(1)).record(currentUser);
     }
 
     @Test
@@ -136,6 +146,8 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).delete(deleteUser);
+        verify(securityEpochRegistry, times(1)).revoke(deleteUser);
+        verify(userAvailabilityIndex, times(1)).remove(deleteUser);
     }
 
     // --------------------- NEGATIVE TESTS ---------------------
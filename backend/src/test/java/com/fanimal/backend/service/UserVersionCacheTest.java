@@ -0,0 +1,84 @@
+package com.fanimal.backend.service;
+
+import com.fanimal.backend.dto.user.UserResponse;
+import com.fanimal.backend.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserVersionCache Unit Tests")
+class UserVersionCacheTest {
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void etagShouldMatchResponseForRecordedVersion() {
+        UserVersionCache userVersionCache = new UserVersionCache(60_000);
+        User user = User.builder().id(1L).username("username").version(3L).build();
+
+        userVersionCache.record(user);
+
+        assertEquals(UserVersionCache.etag(UserResponse.fromEntity(user)), userVersionCache.etag("username"));
+    }
+
+    @Test
+    void conditionalGetShouldAnswerKnownVersionWithoutLoading() {
+        UserVersionCache userVersionCache = new UserVersionCache(60_000);
+        User user = User.builder().id(1L).username("username").version(3L).build();
+        userVersionCache.record(user);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("If-None-Match", userVersionCache.etag("username"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<UserResponse> result = userVersionCache.conditionalGet("username", new ServletWebRequest(request, response), () -> {
+            throw new AssertionError("user should not be loaded");
+        });
+
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void conditionalGetShouldLoadAndSendOneEtagForStaleVersion() {
+        UserVersionCache userVersionCache = new UserVersionCache(60_000);
+        User user = User.builder().id(1L).username("username").version(4L).build();
+        userVersionCache.record(user);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("If-None-Match", "\"1-3\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<UserResponse> result = userVersionCache.conditionalGet("username", new ServletWebRequest(request, response),
+                () -> UserResponse.fromEntity(user));
+
+        assertNotNull(result);
+        assertEquals(4L, result.getBody().getVersion());
+        assertEquals(1, response.getHeaders("ETag").size());
+        assertEquals("\"1-4\"", response.getHeader("ETag"));
+        assertNull(result.getHeaders().getETag());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void etagShouldBeUnknownAfterTtl() {
+        UserVersionCache userVersionCache = new UserVersionCache(0);
+        userVersionCache.record(User.builder().id(1L).username("username").build());
+
+        assertNull(userVersionCache.etag("username"));
+    }
+
+    @Test
+    void etagShouldBeUnknownAfterEvict() {
+        UserVersionCache userVersionCache = new UserVersionCache(60_000);
+        userVersionCache.record(User.builder().id(1L).username("username").build());
+
+        userVersionCache.evict("username");
+
+        assertNull(userVersionCache.etag("username"));
+    }
+}
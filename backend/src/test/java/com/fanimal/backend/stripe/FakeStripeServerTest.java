@@ -0,0 +1,158 @@
+package com.fanimal.backend.stripe;
+
+import com.stripe.Stripe;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Customer;
+import com.stripe.model.Event;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentMethod;
+import com.stripe.model.Subscription;
+import com.stripe.net.RequestOptions;
+import com.stripe.net.Webhook;
+import com.stripe.param.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FakeStripeServer Unit Tests")
+class FakeStripeServerTest {
+
+    private final Map<FakeStripeServer.Operation, FakeStripeServer.Behaviour> behaviours = new EnumMap<>(FakeStripeServer.Operation.class);
+    private Function<FakeStripeServer.Operation, FakeStripeServer.Behaviour> lookup =
+            operation -> behaviours.getOrDefault(operation, FakeStripeServer.Behaviour.NONE);
+    private FakeStripeServer server;
+    private String previousApiKey;
+    private String previousApiBase;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeStripeServer(0, operation -> lookup.apply(operation));
+        server.start();
+        previousApiKey = Stripe.apiKey;
+        previousApiBase = Stripe.getApiBase();
+        Stripe.apiKey = "sk_test_fake";
+        server.overrideStripeApiBase();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        Stripe.apiKey = previousApiKey;
+    }
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void subscribeFlowShouldWorkAgainstTheFakeServer() throws StripeException {
+        Customer customer = Customer.create(CustomerCreateParams.builder().setEmail("test@test.com").setName("Test").build());
+        PaymentMethod paymentMethod = PaymentMethod.retrieve("pm_card_visa");
+        PaymentMethod attached = paymentMethod.attach(PaymentMethodAttachParams.builder().setCustomer(customer.getId()).build());
+        Customer updated = customer.update(CustomerUpdateParams.builder()
+                .setInvoiceSettings(CustomerUpdateParams.InvoiceSettings.builder().setDefaultPaymentMethod("pm_card_visa").build())
+                .build());
+        Subscription subscription = Subscription.create(SubscriptionCreateParams.builder()
+                .setCustomer(customer.getId())
+                .addItem(SubscriptionCreateParams.Item.builder().setPrice("price_basic").build())
+                .setPaymentBehavior(SubscriptionCreateParams.PaymentBehavior.DEFAULT_INCOMPLETE)
+                .addExpand("latest_invoice.payment_intent")
+                .build());
+
+        assertTrue(customer.getId().startsWith("cus_"));
+        assertEquals("test@test.com", customer.getEmail());
+        assertEquals(customer.getId(), attached.getCustomer());
+        assertEquals("pm_card_visa", updated.getInvoiceSettings().getDefaultPaymentMethod());
+        assertEquals("incomplete", subscription.getStatus());
+        assertTrue(subscription.getCurrentPeriodEnd() > subscription.getCurrentPeriodStart());
+        PaymentIntent paymentIntent = (PaymentIntent) subscription.getLatestInvoiceObject().getPaymentIntentObject();
+        assertNotNull(paymentIntent.getClientSecret());
+        assertEquals(1, server.getRequestCount(FakeStripeServer.Operation.SUBSCRIPTION_CREATE));
+    }
+
+    @Test
+    void cancelShouldMarkSubscriptionCanceled() throws StripeException {
+        Customer customer = Customer.create(CustomerCreateParams.builder().setEmail("test@test.com").build());
+        Subscription created = Subscription.create(SubscriptionCreateParams.builder()
+                .setCustomer(customer.getId())
+                .addItem(SubscriptionCreateParams.Item.builder().setPrice("price_basic").build())
+                .build());
+
+        Subscription retrieved = Subscription.retrieve(created.getId());
+        Subscription canceled = retrieved.cancel(SubscriptionCancelParams.builder().build());
+
+        assertEquals("canceled", canceled.getStatus());
+        assertEquals("canceled", Subscription.retrieve(created.getId()).getStatus());
+    }
+
+    @Test
+    void idempotencyKeyShouldReplayTheFirstResponse() throws StripeException {
+        RequestOptions options = RequestOptions.builder().setIdempotencyKey("key-1").build();
+        CustomerCreateParams params = CustomerCreateParams.builder().setEmail("test@test.com").build();
+
+        Customer first = Customer.create(params, options);
+        Customer replay = Customer.create(params, options);
+
+        assertEquals(first.getId(), replay.getId());
+    }
+
+    @Test
+    void webhookSignatureShouldBeAcceptedByStripe() throws Exception {
+        String payload = "{\"id\":\"evt_1\",\"object\":\"event\",\"api_version\":\"" + Stripe.API_VERSION + "\","
+                + "\"type\":\"customer.subscription.updated\",\"data\":{\"object\":{}}}";
+
+        Event event = Webhook.constructEvent(payload, FakeStripeServer.webhookSignature(payload, "whsec_test"), "whsec_test");
+
+        assertEquals("evt_1", event.getId());
+    }
+
+    @Test
+    void stopShouldRestoreThePreviousApiBase() {
+        server.stop();
+
+        assertEquals(previousApiBase, Stripe.getApiBase());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void unknownCustomerShouldReturnResourceMissing() {
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> PaymentMethod.retrieve("pm_card_visa").attach(PaymentMethodAttachParams.builder().setCustomer("cus_missing").build()));
+
+        assertEquals("resource_missing", ex.getCode());
+    }
+
+    @Test
+    void injectedErrorsShouldSurfaceAsStripeApiErrors() {
+        behaviours.put(FakeStripeServer.Operation.CUSTOMER_CREATE, new FakeStripeServer.Behaviour(LatencyDistribution.NONE, 1, 0));
+
+        assertThrows(ApiException.class, () -> Customer.create(CustomerCreateParams.builder().setEmail("test@test.com").build()));
+    }
+
+    @Test
+    void injectedLatencyShouldDelayResponses() throws StripeException {
+        behaviours.put(FakeStripeServer.Operation.PAYMENT_METHOD_RETRIEVE, new FakeStripeServer.Behaviour(LatencyDistribution.parse("fixed:100"), 0, 0));
+
+        long start = System.nanoTime();
+        PaymentMethod.retrieve("pm_card_visa");
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 100);
+    }
+
+    @Test
+    void serverFailuresShouldSurfaceAsStripeApiErrors() {
+        lookup = operation -> {
+            throw new IllegalStateException("broken behaviour");
+        };
+
+        assertThrows(ApiException.class, () -> Customer.create(CustomerCreateParams.builder().setEmail("test@test.com").build()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.fanimal.backend.stripe;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyDistribution Unit Tests")
+class LatencyDistributionTest {
+
+    private final Random random = new Random(42);
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void parseShouldReadFixedAndNone() {
+        assertEquals(50, LatencyDistribution.parse("fixed:50").sampleMillis(random));
+        assertEquals(0, LatencyDistribution.parse("none").sampleMillis(random));
+        assertSame(LatencyDistribution.NONE, LatencyDistribution.parse(" "));
+    }
+
+    @Test
+    void uniformShouldStayWithinBounds() {
+        LatencyDistribution uniform = LatencyDistribution.parse("uniform:20-80");
+
+        for (int i = 0; i < 1_000; i++) {
+            long sample = uniform.sampleMillis(random);
+            assertTrue(sample >= 20 && sample <= 80, "sample " + sample);
+        }
+    }
+
+    @Test
+    void lognormalShouldMatchConfiguredPercentiles() {
+        LatencyDistribution lognormal = LatencyDistribution.parse("lognormal:40,250");
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = lognormal.sampleMillis(random);
+        }
+        Arrays.sort(samples);
+
+        assertEquals(40, samples[samples.length / 2], 4);
+        assertEquals(250, samples[samples.length * 99 / 100], 40);
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void parseShouldRejectMalformedSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("fixed"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("fixed:-1"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("uniform:80-20"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("lognormal:250,40"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("lognormal:40"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("pareto:1,2"));
+    }
+}
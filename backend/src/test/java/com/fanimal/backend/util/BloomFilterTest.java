@@ -0,0 +1,46 @@
+package com.fanimal.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter Unit Tests")
+class BloomFilterTest {
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void mightContainShouldFindEveryInsertedValue() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("value-" + i);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("value-" + i));
+        }
+    }
+
+    @Test
+    void mightContainShouldStayNearConfiguredFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("value-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other-" + i)) falsePositives++;
+        }
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void mightContainShouldRejectValueOnEmptyFilter() {
+        assertFalse(new BloomFilter(100, 0.01).mightContain("value"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.fanimal.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CsvReader Unit Tests")
+class CsvReaderTest {
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void nextShouldSplitPlainAndQuotedFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("name,address\r\n\"Paws, Inc.\",\"12 \"\"Main\"\" St\"\n"));
+
+        assertEquals(List.of("name", "address"), csv.next());
+        assertEquals(List.of("Paws, Inc.", "12 \"Main\" St"), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void nextShouldKeepLineBreaksInsideQuotesAndTrackStartLine() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,\"line one\nline two\"\nb,c"));
+
+        assertEquals(List.of("a", "line one\nline two"), csv.next());
+        assertEquals(1, csv.getLine());
+        assertEquals(List.of("b", "c"), csv.next());
+        assertEquals(3, csv.getLine());
+    }
+
+    @Test
+    void nextShouldReturnEmptyTrailingFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,,\n"));
+
+        assertEquals(List.of("a", "", ""), csv.next());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void nextShouldFailOnUnterminatedQuote() {
+        CsvReader csv = new CsvReader(new StringReader("\"never closed,a\n"));
+
+        assertThrows(CsvReader.MalformedCsvException.class, csv::next);
+    }
+}
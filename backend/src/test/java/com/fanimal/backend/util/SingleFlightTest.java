@@ -0,0 +1,93 @@
+package com.fanimal.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void runShouldShareOneExecutionBetweenConcurrentCallers() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.run(1L, () -> {
+                executions.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+                return "cus_1";
+            }));
+            while (executions.get() == 0) Thread.onSpinWait();
+            Future<String> follower = executor.submit(() -> singleFlight.run(1L, () -> {
+                executions.incrementAndGet();
+                return "cus_2";
+            }));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals("cus_1", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("cus_1", follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+        }
+    }
+
+    @Test
+    void runShouldExecuteAgainOnceTheFlightHasLanded() throws Exception {
+        assertEquals("cus_1", singleFlight.run(1L, () -> "cus_1"));
+        assertEquals("cus_2", singleFlight.run(1L, () -> "cus_2"));
+    }
+
+    @Test
+    void runShouldNotShareBetweenDifferentKeys() throws Exception {
+        assertEquals("cus_1", singleFlight.run(1L, () -> "cus_1"));
+        assertEquals("cus_2", singleFlight.run(2L, () -> "cus_2"));
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void runShouldRethrowFailureAndAllowRetry() throws Exception {
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> singleFlight.run(1L, () -> {
+            throw new IllegalStateException("stripe down");
+        }));
+
+        assertEquals("stripe down", ex.getMessage());
+        assertEquals("cus_1", singleFlight.run(1L, () -> "cus_1"));
+    }
+
+    @Test
+    void runShouldReleaseFollowersWhenTheLeaderThrowsAnError() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.run(1L, () -> {
+                executions.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+                throw new AssertionError("out of memory");
+            }));
+            while (executions.get() == 0) Thread.onSpinWait();
+            Future<String> follower = executor.submit(() -> singleFlight.run(1L, () -> "cus_2"));
+            Thread.sleep(50);
+            release.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(AssertionError.class, leaderFailure.getCause());
+            assertInstanceOf(AssertionError.class, followerFailure.getCause());
+        }
+        assertEquals("cus_1", singleFlight.run(1L, () -> "cus_1"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.fanimal.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskScope Unit Tests")
+class TaskScopeTest {
+
+    // --------------------- POSITIVE TESTS ---------------------
+
+    @Test
+    void joinShouldWaitForEveryForkAndExposeResults() throws Exception {
+        try (TaskScope scope = new TaskScope()) {
+            Future<String> first = scope.fork(() -> "shelter");
+            Future<Integer> second = scope.fork(() -> 42);
+
+            scope.join();
+
+            assertEquals("shelter", first.resultNow());
+            assertEquals(42, second.resultNow());
+        }
+    }
+
+    @Test
+    void forksShouldRunConcurrently() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        try (TaskScope scope = new TaskScope()) {
+            Future<Boolean> first = scope.fork(() -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS);
+            });
+            Future<Boolean> second = scope.fork(() -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS);
+            });
+
+            scope.join();
+
+            assertTrue(first.resultNow());
+            assertTrue(second.resultNow());
+        }
+    }
+
+    @Test
+    void scopeShouldBeReusableAfterJoin() throws Exception {
+        try (TaskScope scope = new TaskScope()) {
+            scope.fork(() -> 1);
+            scope.join();
+            Future<Integer> next = scope.fork(() -> 2);
+            scope.join();
+
+            assertEquals(2, next.resultNow());
+        }
+    }
+
+    @Test
+    void closeShouldWaitForCancelledForksToFinish() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+        try (TaskScope scope = new TaskScope()) {
+            scope.fork(() -> {
+                started.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } finally {
+                    // Simulates cleanup that outlasts the interrupt
+                    Thread.sleep(100);
+                    finished.set(true);
+                }
+                return null;
+            });
+            started.await();
+        }
+
+        assertTrue(finished.get());
+    }
+
+    // --------------------- NEGATIVE TESTS ---------------------
+
+    @Test
+    void joinShouldRethrowFirstFailureAndCancelSiblings() {
+        CountDownLatch never = new CountDownLatch(1);
+        try (TaskScope scope = new TaskScope()) {
+            Future<Boolean> slow = scope.fork(() -> never.await(5, TimeUnit.SECONDS));
+            scope.fork(() -> {
+                throw new IllegalArgumentException("boom");
+            });
+
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, scope::join);
+
+            assertEquals("boom", ex.getMessage());
+            assertTrue(slow.isCancelled());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 import { zodResolver } from "@hookform/resolvers/zod";
 import { useForm } from "react-hook-form";
 import { useAuth } from "../../hooks/useAuth";
+import { axiosInstance } from "../../services/api";
 import {
   registerSchema,
   loginSchema,
@@ -36,6 +37,31 @@ const AuthMenu = ({ mode, onClose }: AuthMenuProps) => {
     },
   });
 
+  // Flags a taken email/username on blur instead of waiting for register to fail
+  const checkAvailability = async (field: "email" | "username") => {
+    const value = registerForm.getValues(field);
+    if (!value || !(await registerForm.trigger(field))) return;
+    try {
+      const response = await axiosInstance.get("/auth/availability", {
+        params: { [field]: value },
+      });
+      const available =
+        field === "email"
+          ? response.data.emailAvailable
+          : response.data.usernameAvailable;
+      if (available === false) {
+        registerForm.setError(field, {
+          message:
+            field === "email"
+              ? "Email already exists"
+              : "Username already exists",
+        });
+      }
+    } catch (err) {
+      console.error("Availability check failed:", err);
+    }
+  };
+
   const onRegisterSubmit = async (data: RegisterFormData) => {
     try {
       await authRegister(data);
@@ -114,7 +140,9 @@ const AuthMenu = ({ mode, onClose }: AuthMenuProps) => {
                 <input
                   type="email"
                   id="email"
-                  {...registerForm.register("email")}
+                  {...registerForm.register("email", {
+                    onBlur: () => checkAvailability("email"),
+                  })}
                   className={inputClasses}
                   disabled={isLoading}
                 />
@@ -132,7 +160,9 @@ const AuthMenu = ({ mode, onClose }: AuthMenuProps) => {
                 <input
                   type="text"
                   id="username"
-                  {...registerForm.register("username")}
+                  {...registerForm.register("username", {
+                    onBlur: () => checkAvailability("username"),
+                  })}
                   className={inputClasses}
                   disabled={isLoading}
                 />
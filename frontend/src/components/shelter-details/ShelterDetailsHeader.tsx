@@ -1,11 +1,33 @@
+import { useEffect, useState } from "react";
 import { Check, MapPin, Globe, Users, Share2 } from "lucide-react";
-import type { ShelterType } from "../../types/ShelterTypes";
+import { axiosInstance } from "../../services/api";
+import type {
+  ShelterSupportType,
+  ShelterType,
+} from "../../types/ShelterTypes";
 
 type ShelterDetailsHeaderProps = {
   shelter: ShelterType;
 };
 
 const ShelterDetailsHeader = ({ shelter }: ShelterDetailsHeaderProps) => {
+  const [subscribers, setSubscribers] = useState(0);
+
+  useEffect(() => {
+    let cancelled = false;
+    axiosInstance
+      .get<ShelterSupportType>(`/shelters/${shelter.id}/support`)
+      .then((response) => {
+        if (!cancelled) setSubscribers(response.data.subscribers);
+      })
+      .catch(() => {
+        // Keep showing the last known count
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [shelter.id]);
+
   return (
     <section className="w-full bg-blue-100">
       <div className="relative mx-auto flex max-w-7xl items-center justify-between gap-12 px-4 py-12 sm:px-6 sm:py-20 lg:px-8">
@@ -46,7 +68,8 @@ const ShelterDetailsHeader = ({ shelter }: ShelterDetailsHeaderProps) => {
                 <a href="#">website.org</a>
               </div>
               <div className="flex items-center gap-1">
-                <Users aria-hidden="true" />0 Monthly Donors
+                <Users aria-hidden="true" />
+                {subscribers} Monthly Donors
               </div>
             </div>
           </div>
@@ -55,7 +55,8 @@ import { useShelter } from "../../hooks/useShelter";
 // ];
 
 export const ShelterContent = () => {
-  const { shelters, isFindingAll, findAll } = useShelter();
+  const { shelters, isFindingAll, findAll, loadMore, hasMore, isLoadingMore } =
+    useShelter();
 
   useEffect(() => {
     findAll();
@@ -121,11 +122,22 @@ export const ShelterContent = () => {
         </div>
 
         {/* Load */}
-        <div className="flex justify-center">
-          <button className="btn-primary flex items-center gap-2 text-lg">
-            Load More Shelters <ArrowDown aria-hidden="true" />
-          </button>
-        </div>
+        {hasMore && (
+          <div className="flex justify-center">
+            <button
+              className="btn-primary flex items-center gap-2 text-lg"
+              onClick={loadMore}
+              disabled={isLoadingMore}
+            >
+              Load More Shelters{" "}
+              {isLoadingMore ? (
+                <Loader className="animate-spin" aria-hidden="true" />
+              ) : (
+                <ArrowDown aria-hidden="true" />
+              )}
+            </button>
+          </div>
+        )}
       </div>
     </section>
   );
@@ -1,4 +1,8 @@
+import { useEffect, useState, type FormEvent } from "react";
 import { Lightbulb, Search } from "lucide-react";
+import { useShelter } from "../../hooks/useShelter";
+import { axiosInstance } from "../../services/api";
+import type { ShelterSuggestionType } from "../../types/ShelterTypes";
 
 const filters = [
   { label: "Dogs", emoji: "🐶" },
@@ -8,6 +12,35 @@ const filters = [
 ];
 
 export const ShelterHeader = () => {
+  const { search } = useShelter();
+  const [query, setQuery] = useState("");
+  const [suggestions, setSuggestions] = useState<ShelterSuggestionType[]>([]);
+
+  useEffect(() => {
+    const prefix = query.trim();
+    if (!prefix) {
+      setSuggestions([]);
+      return;
+    }
+    let cancelled = false;
+    axiosInstance
+      .get<ShelterSuggestionType[]>("/shelters/suggest", { params: { prefix } })
+      .then((response) => {
+        if (!cancelled) setSuggestions(response.data);
+      })
+      .catch(() => {
+        // Suggestions are best-effort; the search button still works
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [query]);
+
+  const onSubmit = (e: FormEvent<HTMLFormElement>) => {
+    e.preventDefault();
+    search(query);
+  };
+
   return (
     <section className="w-full bg-yellow-300 py-16">
       <div className="mx-auto max-w-7xl px-4 sm:px-6 lg:px-8">
@@ -20,7 +53,7 @@ export const ShelterHeader = () => {
           </h2>
 
           {/* Input */}
-          <div className="flex items-center gap-4">
+          <form onSubmit={onSubmit} className="flex items-center gap-4">
             <div className="flex flex-1 items-center gap-2 border-2 bg-white p-4 shadow-[4px_4px_0px_0px_#000]">
               <Search aria-hidden="true" />
               <input
@@ -28,10 +61,20 @@ export const ShelterHeader = () => {
                 placeholder="Search by name, city, or zip code..."
                 className="w-full focus:outline-0"
                 aria-label="Search shelters by name, city, or zip code"
+                list="shelter-suggestions"
+                value={query}
+                onChange={(e) => setQuery(e.target.value)}
               />
+              <datalist id="shelter-suggestions">
+                {suggestions.map((suggestion) => (
+                  <option key={suggestion.id} value={suggestion.name} />
+                ))}
+              </datalist>
             </div>
-            <button className="btn-primary text-lg uppercase">Search</button>
-          </div>
+            <button type="submit" className="btn-primary text-lg uppercase">
+              Search
+            </button>
+          </form>
 
           {/* Filters */}
           <div className="flex flex-wrap items-center gap-4">
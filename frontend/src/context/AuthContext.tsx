@@ -1,5 +1,9 @@
 import { useState, useEffect } from "react";
-import { axiosInstance, setTokenGetter } from "../services/api";
+import {
+  axiosInstance,
+  setTokenGetter,
+  setTokenRefreshedHandler,
+} from "../services/api";
 import toast from "react-hot-toast";
 import type {
   RegisterFormData,
@@ -23,16 +27,23 @@ export function AuthProvider({ children }: AuthProviderPropsType) {
     setTokenGetter(() => token);
   }, [token]);
 
+  useEffect(() => {
+    setTokenRefreshedHandler((newToken) => setToken(newToken));
+  }, []);
+
   const register = async (formData: RegisterFormData) => {
     setIsRegistering(true);
     try {
       const response = await axiosInstance.post("/auth/register", formData);
       if (response.status === 201) {
-        const { token: newToken, user } = response.data;
+        const { token: newToken, refreshToken, user } = response.data;
         if (newToken) {
           setToken(newToken);
           localStorage.setItem("token", newToken);
         }
+        if (refreshToken) {
+          localStorage.setItem("refreshToken", refreshToken);
+        }
         setUser(user);
         toast.success("Registration successful!");
       } else {
@@ -55,11 +66,14 @@ export function AuthProvider({ children }: AuthProviderPropsType) {
     try {
       const response = await axiosInstance.post("/auth/login", formData);
       if (response.status === 200) {
-        const { token: newToken, user } = response.data;
+        const { token: newToken, refreshToken, user } = response.data;
         if (newToken) {
           setToken(newToken);
           localStorage.setItem("token", newToken);
         }
+        if (refreshToken) {
+          localStorage.setItem("refreshToken", refreshToken);
+        }
         setUser(user);
         toast.success("Login successful!");
       } else {
@@ -86,11 +100,13 @@ export function AuthProvider({ children }: AuthProviderPropsType) {
       } else {
         setToken(null);
         localStorage.removeItem("token");
+        localStorage.removeItem("refreshToken");
         setUser(null);
       }
     } catch {
       setToken(null);
       localStorage.removeItem("token");
+      localStorage.removeItem("refreshToken");
       setUser(null);
     } finally {
       setIsVerifying(false);
@@ -99,7 +115,9 @@ export function AuthProvider({ children }: AuthProviderPropsType) {
 
   const logout = async () => {
     try {
-      const response = await axiosInstance.post("/auth/logout");
+      const response = await axiosInstance.post("/auth/logout", {
+        refreshToken: localStorage.getItem("refreshToken"),
+      });
       if (response.status === 200) {
         toast.success("Logout successful!");
       } else {
@@ -116,6 +134,7 @@ export function AuthProvider({ children }: AuthProviderPropsType) {
       // Always clear local auth state, even if backend call fails
       setToken(null);
       localStorage.removeItem("token");
+      localStorage.removeItem("refreshToken");
       setUser(null);
     }
   };
@@ -123,6 +142,7 @@ export function AuthProvider({ children }: AuthProviderPropsType) {
   const clearAuth = () => {
     setToken(null);
     localStorage.removeItem("token");
+    localStorage.removeItem("refreshToken");
     setUser(null);
   };
 
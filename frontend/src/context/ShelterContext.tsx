@@ -1,6 +1,7 @@
 import { createContext, useState } from "react";
 import {
   type ShelterType,
+  type ShelterPageType,
   type ShelterContextType,
   type ShelterProviderPropsType,
   type UpdateFormType,
@@ -14,11 +15,15 @@ export const ShelterContext = createContext<ShelterContextType>({
   shelter: null,
   create: async () => {},
   findAll: async () => {},
+  search: async () => {},
+  loadMore: async () => {},
+  hasMore: false,
   findById: async () => {},
   update: async () => {},
   deleteById: async () => {},
   isCreating: false,
   isFindingAll: false,
+  isLoadingMore: false,
   isFindingById: false,
   isUpdating: false,
   isDeleting: false,
@@ -29,6 +34,9 @@ export function ShelterProvider({ children }: ShelterProviderPropsType) {
   const [shelter, setShelter] = useState<ShelterType | null>(null);
   const [isCreating, setIsCreating] = useState(false);
   const [isFindingAll, setIsFindingAll] = useState(false);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [query, setQuery] = useState("");
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [isFindingById, setIsFindingById] = useState(false);
   const [isUpdating, setIsUpdating] = useState(false);
   const [isDeleting, setIsDeleting] = useState(false);
@@ -36,9 +44,11 @@ export function ShelterProvider({ children }: ShelterProviderPropsType) {
   const findAll = async () => {
     setIsFindingAll(true);
     try {
-      const response = await axiosInstance.get("/shelters");
+      const response = await axiosInstance.get<ShelterPageType>("/shelters");
       if (response.status === 200) {
-        setShelters(response.data);
+        setShelters(response.data.items);
+        setNextCursor(response.data.nextCursor);
+        setQuery("");
         toast.success("Find all successful!");
       } else {
         toast.error("Find all failed.");
@@ -55,6 +65,64 @@ export function ShelterProvider({ children }: ShelterProviderPropsType) {
     }
   };
 
+  const search = async (q: string) => {
+    const trimmed = q.trim();
+    if (!trimmed) {
+      await findAll();
+      return;
+    }
+    setIsFindingAll(true);
+    try {
+      const response = await axiosInstance.get<ShelterPageType>(
+        "/shelters/search",
+        { params: { q: trimmed } }
+      );
+      if (response.status === 200) {
+        setShelters(response.data.items);
+        setNextCursor(response.data.nextCursor);
+        setQuery(trimmed);
+      } else {
+        toast.error("Search failed.");
+      }
+    } catch (error) {
+      console.error("Error in search:", error);
+      toast.error(
+        error instanceof Error
+          ? `Unable to search: ${error.message}`
+          : "Unable to search"
+      );
+    } finally {
+      setIsFindingAll(false);
+    }
+  };
+
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setIsLoadingMore(true);
+    try {
+      // Cursors are tied to the listing that issued them
+      const response = await axiosInstance.get<ShelterPageType>(
+        query ? "/shelters/search" : "/shelters",
+        { params: query ? { q: query, cursor: nextCursor } : { cursor: nextCursor } }
+      );
+      if (response.status === 200) {
+        setShelters((current) => [...(current ?? []), ...response.data.items]);
+        setNextCursor(response.data.nextCursor);
+      } else {
+        toast.error("Load more failed.");
+      }
+    } catch (error) {
+      console.error("Error in loadMore:", error);
+      toast.error(
+        error instanceof Error
+          ? `Unable to load more: ${error.message}`
+          : "Unable to load more"
+      );
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const findById = async (id: number) => {
     setIsFindingById(true);
     try {
@@ -147,11 +215,15 @@ export function ShelterProvider({ children }: ShelterProviderPropsType) {
         shelters,
         shelter,
         findAll,
+        search,
+        loadMore,
+        hasMore: nextCursor !== null,
         findById,
         create,
         update,
         deleteById,
         isFindingAll,
+        isLoadingMore,
         isFindingById,
         isCreating,
         isUpdating,
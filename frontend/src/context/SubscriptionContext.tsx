@@ -2,6 +2,7 @@ import { createContext, useState } from "react";
 import type {
   SubscriptionContextType,
   SubscriptionProviderPropsType,
+  SubscriptionPageType,
   SubscriptionType,
 } from "../types/SubscriptionTypes";
 import toast from "react-hot-toast";
@@ -12,10 +13,13 @@ export const SubscriptionContext = createContext<SubscriptionContextType>({
   subscriptions: null,
   subscribe: async () => {},
   findAllByUser: async () => {},
+  loadMore: async () => {},
+  hasMore: false,
   unsubscribe: async () => {},
   isGettingOrCreatingCustomer: false,
   isSubscribing: false,
   isFindingAllByUser: false,
+  isLoadingMore: false,
   isUnsubscribing: false,
 });
 
@@ -30,6 +34,8 @@ export function SubscriptionProvider({
   );
   const [isSubscribing, setIsSubscribing] = useState<boolean>(false);
   const [isFindingAllByUser, setIsFindingAllByUser] = useState<boolean>(false);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [isLoadingMore, setIsLoadingMore] = useState<boolean>(false);
   const [isUnsubscribing, setIsUnsubscribing] = useState<boolean>(false);
 
   const subscribe = async () => {
@@ -57,9 +63,12 @@ export function SubscriptionProvider({
   const findAllByUser = async () => {
     setIsFindingAllByUser(true);
     try {
-      const response = await axiosInstance.get("/subscriptions");
+      const response = await axiosInstance.get<SubscriptionPageType>(
+        "/subscriptions"
+      );
       if (response.status === 200) {
-        setSubscriptions(response.data);
+        setSubscriptions(response.data.items);
+        setNextCursor(response.data.nextCursor);
         toast.success("Find all by user successful!");
       } else {
         toast.error("Find all by user failed.");
@@ -76,6 +85,32 @@ export function SubscriptionProvider({
     }
   };
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setIsLoadingMore(true);
+    try {
+      const response = await axiosInstance.get<SubscriptionPageType>(
+        "/subscriptions",
+        { params: { cursor: nextCursor } }
+      );
+      if (response.status === 200) {
+        setSubscriptions((current) => [...(current ?? []), ...response.data.items]);
+        setNextCursor(response.data.nextCursor);
+      } else {
+        toast.error("Load more failed.");
+      }
+    } catch (error) {
+      console.error("Error in loadMore: ", error);
+      if (error instanceof Error) {
+        toast.error(`Unable to load more: ${error.message}`);
+      } else {
+        toast.error("Unable to load more");
+      }
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const unsubscribe = async (id: number) => {
     setIsUnsubscribing(true);
     try {
@@ -105,10 +140,13 @@ export function SubscriptionProvider({
         subscriptions,
         subscribe,
         findAllByUser,
+        loadMore,
+        hasMore: nextCursor !== null,
         unsubscribe,
         isGettingOrCreatingCustomer: false,
         isSubscribing,
         isFindingAllByUser,
+        isLoadingMore,
         isUnsubscribing,
       }}
     >
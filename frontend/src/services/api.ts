@@ -11,7 +11,43 @@ export const setTokenGetter = (tokenGetter: () => string | null) => {
   getToken = tokenGetter;
 };
 
+let onTokenRefreshed: ((token: string) => void) | null = null;
+
+export const setTokenRefreshedHandler = (handler: (token: string) => void) => {
+  onTokenRefreshed = handler;
+};
+
+// Concurrent 401s share one refresh call so the rotated refresh token is only spent once
+let refreshPromise: Promise<string> | null = null;
+
+const refreshAccessToken = (refreshToken: string) => {
+  if (!refreshPromise) {
+    refreshPromise = axiosInstance
+      .post("/auth/refresh", { refreshToken })
+      .then((response) => {
+        const { token, refreshToken: newRefreshToken } = response.data;
+        localStorage.setItem("token", token);
+        localStorage.setItem("refreshToken", newRefreshToken);
+        onTokenRefreshed?.(token);
+        return token as string;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
+const isCredentialEndpoint = (url: string) =>
+  ["/auth/login", "/auth/register", "/auth/refresh", "/auth/logout"].some(
+    (path) => url.includes(path)
+  );
+
 axiosInstance.interceptors.request.use((config) => {
+  // A retried request already carries the freshly refreshed token
+  if (config.headers.Authorization) {
+    return config;
+  }
   const token = getToken ? getToken() : localStorage.getItem("token");
   if (token) {
     config.headers.Authorization = `Bearer ${token}`;
@@ -21,10 +57,29 @@ axiosInstance.interceptors.request.use((config) => {
 
 axiosInstance.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
+    const original = error.config;
+    const refreshToken = localStorage.getItem("refreshToken");
+    if (
+      error.response?.status === 401 &&
+      original &&
+      !original._retry &&
+      refreshToken &&
+      !isCredentialEndpoint(original.url || "")
+    ) {
+      original._retry = true;
+      try {
+        const token = await refreshAccessToken(refreshToken);
+        original.headers.Authorization = `Bearer ${token}`;
+        return axiosInstance(original);
+      } catch {
+        // Fall through to clearing auth state below
+      }
+    }
     if (error.response?.status === 401) {
       // Clear auth state
       localStorage.removeItem("token");
+      localStorage.removeItem("refreshToken");
 
       // Only redirect if it's not the verify endpoint (to avoid infinite loops)
       const url = error.config?.url || "";
@@ -28,10 +28,7 @@ export type LoginFormData = z.infer<typeof loginSchema>;
 // Domain Types
 // =============================================================================
 
-export type RoleType = {
-  id: number;
-  name: string;
-};
+export type RoleType = "USER" | "SHELTER" | "ADMIN";
 
 export type UserType = {
   name: string;
@@ -7,9 +7,26 @@ export type ShelterType = {
   name: string;
   description: string;
   address: string;
+  latitude: number | null;
+  longitude: number | null;
   owner: UserType;
 };
 
+export type ShelterSuggestionType = {
+  id: number;
+  name: string;
+};
+
+export type ShelterSupportType = {
+  shelter: ShelterType;
+  subscribers: number;
+};
+
+export type ShelterPageType = {
+  items: ShelterType[];
+  nextCursor: string | null;
+};
+
 export type CreateFormType = {
   name: string;
   description: string;
@@ -27,11 +44,15 @@ export type ShelterContextType = {
   shelter: ShelterType | null;
   create: (formData: CreateFormType) => Promise<void>;
   findAll: () => Promise<void>;
+  search: (query: string) => Promise<void>;
+  loadMore: () => Promise<void>;
+  hasMore: boolean;
   findById: (id: number) => Promise<void>;
   update: (id: number, formData: UpdateFormType) => Promise<void>;
   deleteById: (id: number) => Promise<void>;
   isCreating: boolean;
   isFindingAll: boolean;
+  isLoadingMore: boolean;
   isFindingById: boolean;
   isUpdating: boolean;
   isDeleting: boolean;
@@ -8,7 +8,7 @@ export type TierType = {
 
 export type SubscriptionType = {
   id: number;
-  user: UserType;
+  user?: UserType;
   shelter: ShelterType;
   amount: number;
   startDate: Date;
@@ -16,15 +16,23 @@ export type SubscriptionType = {
   tier: TierType;
 };
 
+export type SubscriptionPageType = {
+  items: SubscriptionType[];
+  nextCursor: string | null;
+};
+
 export type SubscriptionContextType = {
   subscription: SubscriptionType | null;
   subscriptions: SubscriptionType[] | null;
   subscribe: () => Promise<void>;
   findAllByUser: () => Promise<void>;
+  loadMore: () => Promise<void>;
+  hasMore: boolean;
   unsubscribe: (id: number) => Promise<void>;
   isGettingOrCreatingCustomer: boolean;
   isSubscribing: boolean;
   isFindingAllByUser: boolean;
+  isLoadingMore: boolean;
   isUnsubscribing: boolean;
 };
 